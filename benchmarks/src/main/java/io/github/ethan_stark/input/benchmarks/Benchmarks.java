@@ -0,0 +1,30 @@
+package io.github.ethan_stark.input.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * <p>Runs the benchmarks with the usual JMH command line options. </p>
+ * <p>The gc profiler is added unless other profilers are asked for, so boxing and exception allocations show in the results. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class Benchmarks {
+
+    /**
+     * @param args JMH command line options, e.g. {@code ValidateBenchmark -p responses=1000}
+     * @throws Exception if the options are invalid or a benchmark fails
+      */
+    public static void main(String[] args) throws Exception{
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.ethan_stark.input.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.ethan_stark.input.BufferedLineReader;
+import io.github.ethan_stark.input.InputMetrics;
+import io.github.ethan_stark.input.JavaInp;
+import io.github.ethan_stark.input.PromptSink;
+import io.github.ethan_stark.input.ResponseSet;
+import io.github.ethan_stark.input.StringPool;
+import io.github.ethan_stark.input.Validator;
+
+
+/**
+ * <p>Time and allocation per String answer kept, with and without canonical validators. </p>
+ * <p>{@code answers} is the number of distinct answers, the first eight form the valid responses when {@code whitelist} is on,
+ * otherwise every answer goes through a {@link StringPool}. The {@code bytesSaved} counter is the heap the kept answers
+ * didn't take, run with the GC profiler to compare {@code gc.alloc.rate.norm}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalBenchmark {
+
+    /** Answers kept per invocation.  */
+    static final int ANSWERS = 10_000;
+
+    @Param({"8", "1000"})
+    public int answers;
+
+    @Param({"true", "false"})
+    public boolean whitelist;
+
+    private byte[] input;
+    private Validator<String> raw;
+    private Validator<String> canonical;
+    private final String[] kept = new String[ANSWERS];
+
+    /**
+     * Estimated bytes saved, reported next to the timings.
+      */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Saved {
+        public long bytesSaved;
+
+        @Setup(Level.Iteration)
+        public void clear(){
+            bytesSaved = 0;
+        }
+    }
+
+    @Setup
+    public void setUp(){
+        String[] words = new String[answers];
+        for (int i = 0; i < answers; i++) {
+            words[i] = "answer-" + i;
+        }
+        ResponseSet valid = whitelist ? ResponseSet.of(Arrays.copyOf(words, Math.min(8, answers))) : ResponseSet.EMPTY;
+        raw = Validator.builder(JavaInp.StringConvert).validResponses(valid).build();
+        canonical = Validator.canonicalStrings(whitelist ? null : new StringPool()).validResponses(valid).build();
+
+        Random random = new Random(42);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < ANSWERS; i++) {
+            lines.append(words[random.nextInt(whitelist ? Math.min(8, answers) : answers)]).append('\n');
+        }
+        input = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String[] keep(Validator<String> validator, InputMetrics metrics){
+        try (JavaInp inp = new JavaInp(new BufferedLineReader(new ByteArrayInputStream(input)))) {
+            inp.setPromptsSuppressed(true);
+            inp.setOutput(PromptSink.of(Writer.nullWriter(), PromptSink.FlushPolicy.WHEN_FULL));
+            inp.setMetrics(metrics);
+            for (int i = 0; i < ANSWERS; i++) {
+                kept[i] = validator.validate(inp);
+            }
+        }
+        return kept;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public String[] rawStrings(){
+        // metrics on in both, so only the canonical lookup differs
+        return keep(raw, new InputMetrics());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public String[] canonicalStrings(Saved saved){
+        InputMetrics metrics = new InputMetrics();
+        String[] result = keep(canonical, metrics);
+        saved.bytesSaved += metrics.getCanonicalBytesSaved();
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.ethan_stark.input.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.ethan_stark.input.ConvertResult;
+import io.github.ethan_stark.input.JavaInp;
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+
+/**
+ * <p>Cost of each built-in {@link ConvertToType} on valid and invalid inputs. </p>
+ * <p>{@code transform} is the throwing {@link ConvertToType#Transform(String)},
+ * {@code tryTransform} is the path validateInput uses. {@code String} accepts everything, so its invalid inputs are accepted too. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertBenchmark {
+
+    @Param({"Integer", "Double", "Boolean", "String"})
+    public String converter;
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private ConvertToType<Object> convert;
+    private final ConvertResult<Object> result = new ConvertResult<>();
+    private String[] inputs;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(){
+        switch (converter) {
+            case "Integer":
+                convert = (ConvertToType<Object>) (ConvertToType<?>) JavaInp.IntegerConvert;
+                inputs = valid? new String[] {"7", "-42", "12345", "2147483647"} : new String[] {"", "12x45", "2147483648", "four"};
+                break;
+            case "Double":
+                convert = (ConvertToType<Object>) (ConvertToType<?>) JavaInp.DoubleConvert;
+                inputs = valid? new String[] {"3.14159", "-2.5e10", "42", "0.1"} : new String[] {"", "3.1.4", "1e", "pi"};
+                break;
+            case "Boolean":
+                convert = (ConvertToType<Object>) (ConvertToType<?>) JavaInp.BooleanConvert;
+                inputs = valid? new String[] {"true", "False", "false", "True"} : new String[] {"yes", "TRUE", "", "maybe"};
+                break;
+            default:
+                convert = (ConvertToType<Object>) (ConvertToType<?>) JavaInp.StringConvert;
+                inputs = new String[] {"alpha", "", "a longer answer", "42"};
+        }
+    }
+
+    private String nextInput(){
+        next = (next + 1) & 3;
+        return inputs[next];
+    }
+
+    @Benchmark
+    public void transform(Blackhole blackhole){
+        try {
+            blackhole.consume(convert.Transform(nextInput()));
+        } catch (InvalidInputException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void tryTransform(Blackhole blackhole){
+        blackhole.consume(convert.TryTransform(nextInput(), result));
+        blackhole.consume(result.getValue());
+    }
+}
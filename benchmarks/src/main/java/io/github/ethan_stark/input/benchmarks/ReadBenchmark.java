@@ -0,0 +1,97 @@
+package io.github.ethan_stark.input.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.ethan_stark.input.BufferedLineReader;
+import io.github.ethan_stark.input.JavaInp;
+import io.github.ethan_stark.input.LineArena;
+
+
+/**
+ * Line reading throughput of {@link JavaInp#getNextLine()} and {@link JavaInp#getNextLineView()} over in-memory input.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+
+    /** Lines read per invocation.  */
+    static final int LINES = 10_000;
+
+    /** scanner is the default {@code JavaInp(InputStream)}, buffered is a {@link BufferedLineReader}, arena is a {@link LineArena}.  */
+    @Param({"scanner", "buffered", "arena"})
+    public String source;
+
+    @Param({"4", "80"})
+    public int lineLength;
+
+    private byte[] input;
+
+    @Setup
+    public void setUp(){
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            for (int c = 0; c < lineLength; c++) {
+                lines.append((char) ('0' + (i + c) % 10));
+            }
+            lines.append('\n');
+        }
+        input = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JavaInp open(){
+        ByteArrayInputStream stream = new ByteArrayInputStream(input);
+        switch (source) {
+            case "scanner":
+                return new JavaInp(stream);
+            case "arena":
+                return new JavaInp(new LineArena(stream, StandardCharsets.UTF_8));
+            default:
+                return new JavaInp(new BufferedLineReader(stream));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long getNextLine(){
+        long length = 0;
+        try (JavaInp inp = open()) {
+            for (int i = 0; i < LINES; i++) {
+                length += inp.getNextLine().length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long getNextLineView(){
+        long first = 0;
+        try (JavaInp inp = open()) {
+            for (int i = 0; i < LINES; i++) {
+                first += inp.getNextLineView().charAt(0);
+            }
+        }
+        return first;
+    }
+}
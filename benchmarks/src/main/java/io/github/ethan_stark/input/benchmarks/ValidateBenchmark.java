@@ -0,0 +1,108 @@
+package io.github.ethan_stark.input.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.ethan_stark.input.BufferedLineReader;
+import io.github.ethan_stark.input.JavaInp;
+import io.github.ethan_stark.input.PromptSink;
+import io.github.ethan_stark.input.ResponseSet;
+import io.github.ethan_stark.input.Validator;
+
+
+/**
+ * <p>Time per {@code validateInput} call with large invalid response lists and a share of rejected answers. </p>
+ * <p>{@code rejectRatio} is the share of lines taken from the invalid responses, each rejected line means another attempt.
+ * {@code list} uses the List overload, {@code set} reuses one precompiled {@link ResponseSet}
+ * and {@code validator} reuses one compiled {@link Validator}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateBenchmark {
+
+    /** validateInput calls per invocation.  */
+    static final int VALIDATIONS = 1_000;
+
+    @Param({"10", "1000", "100000"})
+    public int responses;
+
+    @Param({"0.0", "0.5", "0.9"})
+    public double rejectRatio;
+
+    @Param({"list", "set", "validator"})
+    public String lookup;
+
+    private List<String> invalidList;
+    private ResponseSet invalidSet;
+    private Validator<Integer> validator;
+    private byte[] input;
+
+    @Setup
+    public void setUp(){
+        invalidList = new ArrayList<>(responses);
+        for (int i = 1; i <= responses; i++) {
+            invalidList.add(Integer.toString(-i));
+        }
+        invalidSet = ResponseSet.of(invalidList);
+        validator = Validator.builder(JavaInp.IntegerConvert).message("").errorMessage("")
+                             .invalidResponses(invalidSet).defaultValue(-1).build();
+
+        // rejected answers are ints too, so only the response list turns them down
+        Random random = new Random(42);
+        StringBuilder lines = new StringBuilder();
+        for (int v = 0; v < VALIDATIONS; v++) {
+            while (random.nextDouble() < rejectRatio) {
+                lines.append(invalidList.get(random.nextInt(responses))).append('\n');
+            }
+            lines.append(v).append('\n');
+        }
+        input = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALIDATIONS)
+    public long validateInput(){
+        long sum = 0;
+        try (JavaInp inp = new JavaInp(new BufferedLineReader(new ByteArrayInputStream(input)))) {
+            inp.setPromptsSuppressed(true);
+            inp.setOutput(PromptSink.of(Writer.nullWriter(), PromptSink.FlushPolicy.WHEN_FULL));
+            for (int v = 0; v < VALIDATIONS; v++) {
+                switch (lookup) {
+                    case "list":
+                        sum += inp.validateInput("", "", JavaInp.IntegerConvert, null, invalidList, 0, -1);
+                        break;
+                    case "set":
+                        sum += inp.validateInput("", "", JavaInp.IntegerConvert, ResponseSet.EMPTY, invalidSet, 0, -1);
+                        break;
+                    default:
+                        sum += validator.validate(inp);
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,332 @@
+package io.github.ethan_stark.input;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+
+
+/**
+ * <p>Validates a whole stream of answers in one pass, without prompts or error messages. </p>
+ * <p>Lines are checked exactly like {@link JavaInp#validateInput(String, String, ConvertToType, ResponseSet, ResponseSet, int, Object)}
+ * checks a single answer, and handed to a {@link Handler} as they are read, so memory use doesn't grow with the input. </p>
+ * <p>The {@code runParallel} methods convert chunks of lines on a {@link ForkJoinPool}, the converter must be thread safe.
+ * The handler still gets every outcome in input order on the calling thread, exactly like {@code run}. </p>
+ * @param <T> The resulting type of the conversion.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class BatchValidation<T> {
+
+    /**
+     * Receives the outcome of every line, in input order.
+     * @param <T> The resulting type of the conversion.
+      */
+    public static interface Handler<T> {
+
+        /**
+         * Called for a valid line.
+         * @param lineNumber the line number, starting at 1
+         * @param value the converted value
+          */
+        public void accepted(long lineNumber, T value);
+
+        /**
+         * Called for an invalid line.
+         * @param lineNumber the line number, starting at 1
+         * @param line the rejected line
+          */
+        public void rejected(long lineNumber, String line);
+    }
+
+    /**
+     * Line counts of a finished run.
+      */
+    public static final class Totals {
+        private final long accepted;
+        private final long rejected;
+
+        Totals(long accepted, long rejected){
+            this.accepted = accepted;
+            this.rejected = rejected;
+        }
+
+        /** @return number of lines read  */
+        public long getLines(){
+            return accepted + rejected;
+        }
+
+        /** @return number of valid lines  */
+        public long getAccepted(){
+            return accepted;
+        }
+
+        /** @return number of invalid lines  */
+        public long getRejected(){
+            return rejected;
+        }
+
+        @Override
+        public String toString(){
+            return "Totals[lines=" + getLines() + ", accepted=" + accepted + ", rejected=" + rejected + "]";
+        }
+    }
+
+    private final ConvertToType<T> convert;
+    private final ResponseSet validResponses;
+    private final ResponseSet invalidResponses;
+
+    /**
+     * Validates lines with only a converter.
+     * @param convert determins how to transform each line to type
+      */
+    public BatchValidation(ConvertToType<T> convert){
+        this(convert, ResponseSet.EMPTY, ResponseSet.EMPTY);
+    }
+
+    /**
+     * Validates lines with a converter and response rules.
+     * @param convert determins how to transform each line to type
+     * @param validResponses set of valid responses, anything is valid when empty or null
+     * @param invalidResponses set of invalid responses, may be null
+      */
+    public BatchValidation(ConvertToType<T> convert, ResponseSet validResponses, ResponseSet invalidResponses){
+        if (convert == null) {
+            throw new NullPointerException("convert can't be null");
+        }
+        this.convert = convert;
+        this.validResponses = (validResponses == null)? ResponseSet.EMPTY : validResponses;
+        this.invalidResponses = (invalidResponses == null)? ResponseSet.EMPTY : invalidResponses;
+    }
+
+    /**
+     * Checks one line the same way validateInput does.
+     * @param line the line to check
+     * @param result where the converted value goes
+     * @return whether the line is valid
+      */
+    boolean validate(String line, ConvertResult<T> result){
+        boolean allowed = JavaInp.responseAllowed(line, validResponses, invalidResponses);
+        return convert.TryTransform(line, result) && allowed;
+    }
+
+    /**
+     * Validates every line of the stream, read with a {@link BufferedLineReader}. The stream is not closed.
+     * @param stream the input stream to read
+     * @param handler receives each outcome
+     * @return the line counts
+     * @throws UncheckedIOException if the stream fails
+      */
+    public Totals run(InputStream stream, Handler<? super T> handler){
+        BufferedLineReader reader = new BufferedLineReader(stream);
+        Totals totals = run(reader, handler);
+        if (reader.ioException() != null) {
+            throw new UncheckedIOException(reader.ioException());
+        }
+        return totals;
+    }
+
+    /**
+     * Validates every line of the reader. The reader is not closed.
+     * @param reader the reader to read
+     * @param handler receives each outcome
+     * @return the line counts
+     * @throws UncheckedIOException if the reader fails
+      */
+    public Totals run(Reader reader, Handler<? super T> handler){
+        return run(new ReaderLineSource(reader), handler);
+    }
+
+    /**
+     * Validates every line of the source. The source is not closed.
+     * @param source the lines to validate
+     * @param handler receives each outcome
+     * @return the line counts
+      */
+    public Totals run(LineSource source, Handler<? super T> handler){
+        ConvertResult<T> result = new ConvertResult<>();
+        long accepted = 0;
+        long lineNumber = 0;
+        while (source.hasNextLine()) {
+            String line = source.nextLine();
+            lineNumber ++;
+            if (validate(line, result)) {
+                handler.accepted(lineNumber, result.getValue());
+                accepted ++;
+            }
+            else {
+                handler.rejected(lineNumber, line);
+            }
+        }
+        result.reset();
+        return new Totals(accepted, lineNumber - accepted);
+    }
+
+    /**
+     * Validates every line of a stream of lines, in encounter order.
+     * @param lines the lines to validate
+     * @param handler receives each outcome
+     * @return the line counts
+      */
+    public Totals run(Stream<String> lines, Handler<? super T> handler){
+        Iterator<String> it = lines.iterator();
+        return run(new LineSource() {
+            @Override
+            public String nextLine() {
+                return it.next();
+            }
+
+            @Override
+            public boolean hasNextLine() {
+                return it.hasNext();
+            }
+
+            @Override
+            public void close() {
+                lines.close();
+            }
+        }, handler);
+    }
+
+    /** Default number of lines converted per parallel task.  */
+    public final static int DEFAULT_CHUNK_LINES = 4096;
+
+    /**
+     * Validates every line of the stream in parallel, read with a {@link BufferedLineReader}. The stream is not closed.
+     * @param stream the input stream to read
+     * @param handler receives each outcome, in input order
+     * @param workers number of threads converting lines
+     * @param chunkLines number of lines per task
+     * @return the line counts
+     * @throws UncheckedIOException if the stream fails
+      */
+    public Totals runParallel(InputStream stream, Handler<? super T> handler, int workers, int chunkLines){
+        BufferedLineReader reader = new BufferedLineReader(stream);
+        Totals totals = runParallel(reader, handler, workers, chunkLines);
+        if (reader.ioException() != null) {
+            throw new UncheckedIOException(reader.ioException());
+        }
+        return totals;
+    }
+
+    /**
+     * Validates every line of the source in parallel on a new pool of the given size. The source is not closed.
+     * @param source the lines to validate
+     * @param handler receives each outcome, in input order
+     * @param workers number of threads converting lines
+     * @param chunkLines number of lines per task
+     * @return the line counts
+      */
+    public Totals runParallel(LineSource source, Handler<? super T> handler, int workers, int chunkLines){
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be above 0, was " + workers);
+        }
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            return runParallel(source, handler, pool, chunkLines);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates every line of the source in parallel on the given pool. The source is not closed.
+     * <p>At most two chunks per pool thread are in flight, so memory stays bounded. </p>
+     * @param source the lines to validate
+     * @param handler receives each outcome, in input order
+     * @param pool the pool that converts lines
+     * @param chunkLines number of lines per task
+     * @return the line counts
+      */
+    public Totals runParallel(LineSource source, Handler<? super T> handler, ForkJoinPool pool, int chunkLines){
+        if (chunkLines <= 0) {
+            throw new IllegalArgumentException("chunkLines must be above 0, was " + chunkLines);
+        }
+        int maxInFlight = pool.getParallelism() * 2;
+        ArrayDeque<ForkJoinTask<Chunk<T>>> inFlight = new ArrayDeque<>(maxInFlight);
+        long accepted = 0;
+        long lineNumber = 0;
+
+        while (source.hasNextLine()) {
+            String[] lines = new String[chunkLines];
+            int count = 0;
+            while (count < chunkLines && source.hasNextLine()) {
+                lines[count++] = source.nextLine();
+            }
+            inFlight.add(pool.submit(new Chunk<>(this, lineNumber + 1, lines, count)));
+            lineNumber += count;
+
+            if (inFlight.size() >= maxInFlight) {
+                accepted += inFlight.poll().join().emit(handler);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            accepted += inFlight.poll().join().emit(handler);
+        }
+        return new Totals(accepted, lineNumber - accepted);
+    }
+
+    /**
+     * A line aligned chunk of input, converted on a pool thread and emitted in order on the reading thread.
+     * @param <T> The resulting type of the conversion.
+      */
+    private static final class Chunk<T> extends RecursiveTask<Chunk<T>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BatchValidation<T> validation;
+        private final long firstLine;
+        private final String[] lines;
+        private final int count;
+        private final Object[] values;
+        private final boolean[] valid;
+
+        Chunk(BatchValidation<T> validation, long firstLine, String[] lines, int count){
+            this.validation = validation;
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.count = count;
+            this.values = new Object[count];
+            this.valid = new boolean[count];
+        }
+
+        @Override
+        protected Chunk<T> compute(){
+            ConvertResult<T> result = new ConvertResult<>();
+            for (int i = 0; i < count; i++) {
+                valid[i] = validation.validate(lines[i], result);
+                if (valid[i]) {
+                    values[i] = result.getValue();
+                    lines[i] = null;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Hands every outcome to the handler.
+         * @return number of valid lines
+          */
+        @SuppressWarnings("unchecked")
+        long emit(Handler<? super T> handler){
+            long accepted = 0;
+            for (int i = 0; i < count; i++) {
+                if (valid[i]) {
+                    handler.accepted(firstLine + i, (T) values[i]);
+                    accepted ++;
+                }
+                else {
+                    handler.rejected(firstLine + i, lines[i]);
+                }
+            }
+            return accepted;
+        }
+    }
+}
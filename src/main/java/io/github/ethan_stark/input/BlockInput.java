@@ -0,0 +1,164 @@
+package io.github.ethan_stark.input;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+
+
+/**
+ * <p>Describes a multi-line answer, such as a pasted JSON or config block, ended by a terminator line. </p>
+ * <p>{@link JavaInp#validateBlock(String, String, BlockInput, LineConvert, int, Object)} hands each line of the block
+ * to a {@link LineConvert} as it is read, so a converter that works line by line keeps no copy of the block.
+ * A {@link ConvertToType} gets the whole block at the end instead, built up in one growable buffer
+ * rather than by joining Strings. </p>
+ * <p>A block over {@link #getMaxChars()} characters or {@link #getMaxLines()} lines is rejected. Its lines are still read
+ * up to the terminator, so the next attempt starts on a fresh block, but they aren't kept.
+ * Lines are read with {@link LineSource#nextLineView(int)}, so even a single line longer than the limit is dropped as it is read,
+ * and a huge paste costs no more memory than the limits allow. The end of input also ends a block. </p>
+ * <pre>{@code
+ * BlockInput json = BlockInput.until("END").limitedTo(64 * 1024, 2000);
+ * String payload = inp.validateBlock("Paste the config, then END: ", "Too big, try again", json, JavaInp.StringConvert, 3, null);
+ * }</pre>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class BlockInput {
+
+    /** Most characters in a block made with {@link #until(String)}.  */
+    public final static int DEFAULT_MAX_CHARS = 1024 * 1024;
+    /** Most lines in a block made with {@link #until(String)}.  */
+    public final static int DEFAULT_MAX_LINES = 100_000;
+
+    /**
+     * Converts a block one line at a time. Keeps state between calls, so an instance can't be shared between threads.
+     * @param <T> The resulting type of the conversion.
+      */
+    public static interface LineConvert<T> {
+        /**
+         * Starts a new block, dropping anything from the last one.
+          */
+        public void start();
+
+        /**
+         * Takes the next line of the block.
+         * @param line the line, possibly a reused view only valid during the call
+         * @return false to reject the block, the rest of its lines are then skipped
+          */
+        public boolean line(CharSequence line);
+
+        /**
+         * Ends the block.
+         * @param result where to put the converted value, or the reason it was rejected
+         * @return whether the block was accepted
+          */
+        public boolean finish(ConvertResult<T> result);
+    }
+
+    private final String terminator;
+    private final int maxChars;
+    private final int maxLines;
+
+    private BlockInput(String terminator, int maxChars, int maxLines){
+        if (terminator == null) {
+            throw new NullPointerException("terminator can't be null");
+        }
+        if (maxChars < 0 || maxLines < 0) {
+            throw new IllegalArgumentException("Limits can't be negative");
+        }
+        this.terminator = terminator;
+        this.maxChars = maxChars;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Creates a block ended by a line equal to {@code terminator}, with the default limits.
+     * @param terminator the line ending the block, not part of it, "" for a blank line
+     * @return the block
+      */
+    public static BlockInput until(String terminator){
+        return new BlockInput(terminator, DEFAULT_MAX_CHARS, DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * Creates the same block with other limits.
+     * @param maxChars most characters in a block, counting one for each line break between its lines
+     * @param maxLines most lines in a block
+     * @return the block
+      */
+    public BlockInput limitedTo(int maxChars, int maxLines){
+        return new BlockInput(terminator, maxChars, maxLines);
+    }
+
+    /**
+     * @param line a line read
+     * @return whether it ends the block
+      */
+    boolean isTerminator(CharSequence line){
+        return terminator.contentEquals(line);
+    }
+
+    /**
+     * @return the line ending the block
+      */
+    public String getTerminator(){
+        return terminator;
+    }
+
+    /**
+     * @return most characters in a block
+      */
+    public int getMaxChars(){
+        return maxChars;
+    }
+
+    /**
+     * @return most lines in a block
+      */
+    public int getMaxLines(){
+        return maxLines;
+    }
+
+    /**
+     * Gives a converter the whole block, its lines joined with {@code \n}.
+     * @param <T> The resulting type of the conversion.
+     * @param convert converts the block
+     * @return a line converter collecting the block, not thread safe
+      */
+    static <T> LineConvert<T> collecting(ConvertToType<T> convert){
+        return new Collector<>(convert);
+    }
+
+    /**
+     * Builds the block in one growable buffer, limits are checked before a line gets here.
+     * @param <T> The resulting type of the conversion.
+      */
+    private static final class Collector<T> implements LineConvert<T> {
+        private final ConvertToType<T> convert;
+        private final StringBuilder text = new StringBuilder(256);
+        private boolean first;
+
+        private Collector(ConvertToType<T> convert){
+            if (convert == null) {
+                throw new NullPointerException("convert can't be null");
+            }
+            this.convert = convert;
+        }
+
+        @Override
+        public void start(){
+            text.setLength(0);
+            first = true;
+        }
+
+        @Override
+        public boolean line(CharSequence line){
+            if (!first) text.append('\n');
+            text.append(line);
+            first = false;
+            return true;
+        }
+
+        @Override
+        public boolean finish(ConvertResult<T> result){
+            return convert.TryTransform(text.toString(), result);
+        }
+    }
+}
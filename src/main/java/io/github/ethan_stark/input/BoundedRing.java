@@ -0,0 +1,102 @@
+package io.github.ethan_stark.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * <p>Bounded lock-free queue for any number of producers and consumers. </p>
+ * <p>Each slot has a sequence number saying whether it is ready to be filled or emptied for the current lap,
+ * so producers and consumers only compete through one compare and set on their own counter.
+ * {@link #offer(Object)} and {@link #poll()} never block, callers decide how to wait. </p>
+ * @param <E> The type of the elements.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+final class BoundedRing<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity most elements held, rounded up to a power of two
+      */
+    BoundedRing(int capacity){
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30, was " + capacity);
+        }
+        int size = (capacity == 1)? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room.
+     * @param element the element, not null
+     * @return false if the queue is full
+      */
+    boolean offer(E element){
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long lap = sequences.get(slot) - position;
+            if (lap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            }
+            else if (lap < 0) {
+                // the slot still holds an element from the last lap
+                return false;
+            }
+            else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     * @return the element, null if the queue is empty
+      */
+    E poll(){
+        long position = head.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long lap = sequences.get(slot) - (position + 1);
+            if (lap == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = slots.get(slot);
+                    slots.lazySet(slot, null);
+                    sequences.set(slot, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            }
+            else if (lap < 0) {
+                return null;
+            }
+            else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return whether the queue looked empty when checked
+      */
+    boolean isEmpty(){
+        return head.get() >= tail.get();
+    }
+}
@@ -0,0 +1,319 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+
+/**
+ * <p>A fast line source for piped or scripted input. </p>
+ * <p>Reads the stream in large byte chunks and finds line ends with a plain byte scan instead of
+ * the regular expressions {@link java.util.Scanner} uses. Only the bytes of each line get decoded,
+ * and {@link #nextLineView()} doesn't decode ASCII lines at all. </p>
+ * <p>Lines end at {@code \n}, {@code \r\n} or a lone {@code \r}, like {@code Scanner.nextLine()}.
+ * The unicode line separators Scanner also accepts are treated as normal characters. </p>
+ * <p>Like Scanner, an {@link IOException} from the stream is treated as the end of input,
+ * and can be checked with {@link #ioException()}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class BufferedLineReader implements LineSource {
+
+    /** Default number of bytes read from the stream at once.  */
+    public final static int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /** Largest buffer a single line can grow it to.  */
+    private final static int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final InputStream stream;
+    private final Charset charset;
+    private byte[] buffer;
+    /** The buffer as a ByteBuffer for {@link #view}, rewrapped when the buffer grows.  */
+    private ByteBuffer wrapped;
+    private final ByteLineView view;
+    /** Most bytes one character takes in the charset.  */
+    private final int maxBytesPerChar;
+    private int pos = 0;
+    private int limit = 0;
+    private boolean endOfInput = false;
+    /** Last line ended with {@code \r} at the end of the buffer, a following {@code \n} belongs to it.  */
+    private boolean skipLineFeed = false;
+    private IOException lastException;
+
+    /**
+     * Reads the stream with the platforms default charset, like {@link java.util.Scanner#Scanner(InputStream)}.
+     * @param stream The input stream to use.
+      */
+    public BufferedLineReader(InputStream stream){
+        this(stream, Charset.defaultCharset(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the stream with the given charset.
+     * @param stream The input stream to use.
+     * @param charset charset of the stream, {@code \n} and {@code \r} must be single ASCII bytes in it
+      */
+    public BufferedLineReader(InputStream stream, Charset charset){
+        this(stream, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the stream with the given charset and chunk size.
+     * @param stream The input stream to use.
+     * @param charset charset of the stream, {@code \n} and {@code \r} must be single ASCII bytes in it
+     * @param bufferSize number of bytes to read at once, the buffer grows for longer lines
+      */
+    public BufferedLineReader(InputStream stream, Charset charset, int bufferSize){
+        if (stream == null || charset == null) {
+            throw new NullPointerException("stream and charset can't be null");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be above 0, was " + bufferSize);
+        }
+        if (!isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Line ends can't be found by byte in " + charset);
+        }
+        this.stream = stream;
+        this.charset = charset;
+        this.buffer = new byte[bufferSize];
+        this.view = new ByteLineView(charset);
+        this.maxBytesPerChar = (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+    }
+
+    /**
+     * Checks that line ends are encoded as their single ASCII byte.
+     * @param charset charset to check
+     * @return whether lines can be split by byte
+      */
+    static boolean isAsciiCompatible(Charset charset){
+        return charset.canEncode()
+            && Arrays.equals("\n\r".getBytes(charset), new byte[] {'\n', '\r'});
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        skipPendingLineFeed();
+        return pos < limit || fill();
+    }
+
+    @Override
+    public String nextLine(){
+        int end = lineEnd();
+        String line = new String(buffer, pos, end - pos, charset);
+        consumeLine(end);
+        return line;
+    }
+
+    /**
+     * Gets the next line as a view over the read buffer, a String is only decoded when one is asked for.
+     * @return the next line, only valid until the next line is read or checked for
+     * @throws NoSuchElementException if there are no lines left
+      */
+    @Override
+    public CharSequence nextLineView(){
+        return viewOf(lineEnd());
+    }
+
+    /**
+     * Gets the next line as a view if it has at most {@code maxLength} characters,
+     * a longer line is dropped as it is read so the buffer never holds much more than {@code maxLength} characters of it.
+     * @param maxLength most characters to keep
+     * @return the next line, only valid until the next line is read or checked for, or null if it was longer
+     * @throws NoSuchElementException if there are no lines left
+      */
+    @Override
+    public CharSequence nextLineView(int maxLength){
+        long maxBytes = (long) maxLength * maxBytesPerChar;
+        skipPendingLineFeed();
+
+        int scan = pos;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    CharSequence line = viewOf(i);
+                    return (line.length() <= maxLength)? line : null;
+                }
+            }
+            if (limit - pos > maxBytes) {
+                skipRestOfLine();
+                return null;
+            }
+
+            int scanned = limit - pos;
+            if (!fill()) {
+                if (pos == limit) {
+                    throw new NoSuchElementException("No line found");
+                }
+                CharSequence line = viewOf(limit);
+                return (line.length() <= maxLength)? line : null;
+            }
+            scan = pos + scanned;
+        }
+    }
+
+    /**
+     * Drops the rest of a line and its terminator, reading on without growing the buffer.
+      */
+    private void skipRestOfLine(){
+        while (true) {
+            for (int i = pos; i < limit; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    consumeLine(i);
+                    return;
+                }
+            }
+            pos = limit;
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Points the view at the line up to {@code end} and moves past it.
+     * @param end index of the terminator from {@link #lineEnd()}
+     * @return the view
+      */
+    private CharSequence viewOf(int end){
+        boolean ascii = true;
+        for (int i = pos; i < end; i++) {
+            if (buffer[i] < 0) {
+                ascii = false;
+                break;
+            }
+        }
+        if (wrapped == null || wrapped.array() != buffer) {
+            // the buffer grew since the last view
+            wrapped = ByteBuffer.wrap(buffer);
+        }
+        view.set(wrapped, pos, end - pos, ascii);
+        consumeLine(end);
+        return view;
+    }
+
+    /**
+     * Finds the end of the next line, reading more when it isn't all in the buffer yet.
+     * @return index of the lines terminator, or {@code limit} for a last line without one
+     * @throws NoSuchElementException if there are no lines left
+      */
+    private int lineEnd(){
+        skipPendingLineFeed();
+
+        int scan = pos;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    return i;
+                }
+            }
+
+            int scanned = limit - pos;
+            if (!fill()) {
+                if (pos == limit) {
+                    throw new NoSuchElementException("No line found");
+                }
+                // last line has no terminator
+                return limit;
+            }
+            scan = pos + scanned;
+        }
+    }
+
+    /**
+     * Moves past a line and its terminator.
+     * @param end index of the terminator from {@link #lineEnd()}
+      */
+    private void consumeLine(int end){
+        pos = end;
+        if (pos == limit) {
+            return;
+        }
+        byte b = buffer[pos ++];
+        if (b == '\r') {
+            if (pos == limit) {
+                skipLineFeed = true;
+            }
+            else if (buffer[pos] == '\n') {
+                pos ++;
+            }
+        }
+    }
+
+    /**
+     * Drops the {@code \n} of a {@code \r\n} split across two reads.
+      */
+    private void skipPendingLineFeed(){
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if ((pos < limit || fill()) && buffer[pos] == '\n') {
+                pos ++;
+            }
+        }
+    }
+
+    /**
+     * Reads more bytes into the buffer, moving unread bytes to the front and growing it when full.
+     * @return false if the end of input was reached
+      */
+    private boolean fill(){
+        if (endOfInput) {
+            return false;
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buffer.length) {
+            if (buffer.length == MAX_BUFFER_SIZE) {
+                throw new IllegalStateException("Line is longer than " + MAX_BUFFER_SIZE + " bytes");
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, MAX_BUFFER_SIZE));
+        }
+
+        int read;
+        try {
+            do {
+                read = stream.read(buffer, limit, buffer.length - limit);
+            } while (read == 0);
+        } catch (IOException e) {
+            lastException = e;
+            read = -1;
+        }
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * @return current size of the read buffer in bytes
+      */
+    int bufferCapacity(){
+        return buffer.length;
+    }
+
+    /**
+     * Gets the last {@link IOException} thrown by the stream.
+     * @return the exception, or null if there was none
+      */
+    public IOException ioException(){
+        return lastException;
+    }
+
+    @Override
+    public void close(){
+        try {
+            stream.close();
+        } catch (IOException e) {
+            lastException = e;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.ethan_stark.input;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+
+/**
+ * <p>A reusable {@link CharSequence} over the bytes of one line in a {@link ByteBuffer}. </p>
+ * <p>ASCII lines are read straight from the buffer, other lines are decoded the first time a character is needed.
+ * A view is only valid until its source reads the next line. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+final class ByteLineView implements CharSequence {
+
+    private final Charset charset;
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+    private boolean ascii;
+    private String decoded;
+
+    /**
+     * Creates an empty view.
+     * @param charset charset used to decode non ASCII lines
+      */
+    ByteLineView(Charset charset){
+        this.charset = charset;
+    }
+
+    /**
+     * Points the view at a new line.
+     * @param buffer the buffer holding the line
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @param ascii whether every byte is ASCII
+     * @return this view
+      */
+    ByteLineView set(ByteBuffer buffer, int offset, int length, boolean ascii){
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.ascii = ascii;
+        this.decoded = null;
+        return this;
+    }
+
+    @Override
+    public int length(){
+        return ascii ? length : toString().length();
+    }
+
+    @Override
+    public char charAt(int index){
+        if (!ascii) {
+            return toString().charAt(index);
+        }
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return (char) buffer.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end){
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Decodes the line, the String is kept until the view moves on.
+     * @return the line as a String
+      */
+    @Override
+    public String toString(){
+        if (decoded == null) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            decoded = new String(bytes, charset);
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.ethan_stark.input;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+
+/**
+ * <p>Remembers the results of an expensive {@link ConvertToType}, for input where the same answers repeat. </p>
+ * <p>Both converted values and rejections are cached, up to a bounded number of inputs.
+ * {@link #TryTransform(String, ConvertResult)} answers cached inputs without running the converter or throwing.
+ * Safe to share between threads, the cache is split into independently locked segments. </p>
+ * @param <T> The resulting type of the conversion.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class CachingConverter<T> implements ConvertToType<T> {
+
+    /**
+     * Which input is dropped when the cache is full.
+      */
+    public static enum EvictionPolicy {
+        /** Drop the least recently used input.  */
+        LRU,
+        /** Drop the input that was cached first.  */
+        FIFO
+    }
+
+    /** Cached value for a converter that returned null.  */
+    private static final Object NULL_VALUE = new Object();
+
+    /** A cached rejection, keeping the original cause.  */
+    private static final class Rejection {
+        final Throwable cause;
+
+        Rejection(Throwable cause){
+            this.cause = cause;
+        }
+    }
+
+    private static final Rejection REJECTED = new Rejection(null);
+
+    /** One independently locked part of the cache.  */
+    private static final class Segment extends LinkedHashMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+        private final LongAdder evictions;
+
+        Segment(int maxEntries, boolean accessOrder, LongAdder evictions){
+            super(16, 0.75f, accessOrder);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest){
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final ConvertToType<T> convert;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Caches up to {@code maxEntries} inputs, dropping the least recently used.
+     * @param convert the converter to cache
+     * @param maxEntries most inputs to remember
+      */
+    public CachingConverter(ConvertToType<T> convert, int maxEntries){
+        this(convert, maxEntries, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Caches up to {@code maxEntries} inputs.
+     * @param convert the converter to cache
+     * @param maxEntries most inputs to remember
+     * @param policy which input to drop when full
+      */
+    public CachingConverter(ConvertToType<T> convert, int maxEntries, EvictionPolicy policy){
+        if (convert == null || policy == null) {
+            throw new NullPointerException("convert and policy can't be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be above 0, was " + maxEntries);
+        }
+        this.convert = convert;
+        // small caches keep one segment so the bound and eviction order stay exact
+        int count = Math.min(16, Integer.highestOneBit(Math.max(1, maxEntries / 64)));
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            int share = maxEntries / count + ((i < maxEntries % count) ? 1 : 0);
+            segments[i] = new Segment(share, policy == EvictionPolicy.LRU, evictions);
+        }
+    }
+
+    private Segment segmentFor(String UserInp){
+        int h = UserInp.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @Override
+    public T Transform(String UserInp) throws InvalidInputException {
+        ConvertResult<T> result = new ConvertResult<>();
+        if (!TryTransform(UserInp, result)) {
+            if (result.getCause() instanceof InvalidInputException) {
+                throw (InvalidInputException) result.getCause();
+            }
+            invalidateInputStackless(UserInp);
+        }
+        return result.getValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean TryTransform(String UserInp, ConvertResult<T> result) {
+        Segment segment = segmentFor(UserInp);
+        Object cached;
+        synchronized (segment) {
+            cached = segment.get(UserInp);
+        }
+
+        if (cached != null) {
+            hits.increment();
+            if (cached instanceof Rejection) {
+                return result.reject(((Rejection) cached).cause);
+            }
+            return result.accept((cached == NULL_VALUE)? null : (T) cached);
+        }
+
+        misses.increment();
+        boolean valid = convert.TryTransform(UserInp, result);
+        Object entry;
+        if (valid) {
+            entry = (result.getValue() == null)? NULL_VALUE : result.getValue();
+        }
+        else {
+            entry = (result.getCause() == null)? REJECTED : new Rejection(result.getCause());
+        }
+        synchronized (segment) {
+            segment.put(UserInp, entry);
+        }
+        return valid;
+    }
+
+    /**
+     * @return number of conversions answered from the cache
+      */
+    public long hitCount(){
+        return hits.sum();
+    }
+
+    /**
+     * @return number of conversions that ran the converter
+      */
+    public long missCount(){
+        return misses.sum();
+    }
+
+    /**
+     * @return number of inputs dropped to stay within the bound
+      */
+    public long evictionCount(){
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of inputs currently cached
+      */
+    public int size(){
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Forgets every cached input, the counters are kept.
+      */
+    public void clear(){
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "CachingConverter[hits=" + hitCount() + ", misses=" + missCount()
+            + ", evictions=" + evictionCount() + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.ethan_stark.input;
+
+
+/**
+ * <p>Reusable outcome of a conversion, filled in by {@link JavaInp.ConvertToType#TryTransform(String, ConvertResult)}
+ * and the primitive {@code TryTransform} methods. </p>
+ * <p>Lets converters reject inputs without throwing an {@link JavaInp.InvalidInputException}.
+ * One instance can be reused for every conversion, it is not thread safe. </p>
+ * @param <T> The resulting type of the conversion.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class ConvertResult<T> {
+
+    private boolean valid = false;
+    private T value;
+    private int intValue;
+    private long longValue;
+    private double doubleValue;
+    private boolean booleanValue;
+    private Throwable cause;
+
+    /**
+     * Marks the conversion as successful.
+     * @param value the converted value
+     * @return true
+      */
+    public boolean accept(T value){
+        this.valid = true;
+        this.value = value;
+        this.cause = null;
+        return true;
+    }
+
+    /**
+     * Marks the conversion as successful with an int.
+     * @param value the converted value
+     * @return true
+      */
+    public boolean acceptInt(int value){
+        this.intValue = value;
+        return accept(null);
+    }
+
+    /**
+     * Marks the conversion as successful with a long.
+     * @param value the converted value
+     * @return true
+      */
+    public boolean acceptLong(long value){
+        this.longValue = value;
+        return accept(null);
+    }
+
+    /**
+     * Marks the conversion as successful with a double.
+     * @param value the converted value
+     * @return true
+      */
+    public boolean acceptDouble(double value){
+        this.doubleValue = value;
+        return accept(null);
+    }
+
+    /**
+     * Marks the conversion as successful with a boolean.
+     * @param value the converted value
+     * @return true
+      */
+    public boolean acceptBoolean(boolean value){
+        this.booleanValue = value;
+        return accept(null);
+    }
+
+    /**
+     * Marks the input as invalid.
+     * @return false
+      */
+    public boolean reject(){
+        return reject(null);
+    }
+
+    /**
+     * Marks the input as invalid, keeping what caused it.
+     * @param cause why the input was rejected, may be null
+     * @return false
+      */
+    public boolean reject(Throwable cause){
+        this.valid = false;
+        this.value = null;
+        this.cause = cause;
+        return false;
+    }
+
+    /**
+     * Clears the result so it holds no references.
+      */
+    public void reset(){
+        reject(null);
+    }
+
+    /**
+     * @return whether the last conversion was successful
+      */
+    public boolean isValid(){
+        return valid;
+    }
+
+    /**
+     * @return the converted value, null if rejected or primitive
+      */
+    public T getValue(){
+        return value;
+    }
+
+    /**
+     * @return the converted int
+      */
+    public int getInt(){
+        return intValue;
+    }
+
+    /**
+     * @return the converted long
+      */
+    public long getLong(){
+        return longValue;
+    }
+
+    /**
+     * @return the converted double
+      */
+    public double getDouble(){
+        return doubleValue;
+    }
+
+    /**
+     * @return the converted boolean
+      */
+    public boolean getBoolean(){
+        return booleanValue;
+    }
+
+    /**
+     * @return why the last input was rejected, null if unknown or accepted
+      */
+    public Throwable getCause(){
+        return cause;
+    }
+}
@@ -0,0 +1,476 @@
+package io.github.ethan_stark.input;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToBoolean;
+import io.github.ethan_stark.input.JavaInp.ConvertToDouble;
+import io.github.ethan_stark.input.JavaInp.ConvertToInt;
+import io.github.ethan_stark.input.JavaInp.ConvertToLong;
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+
+/**
+ * <p>Ready made converters for common kinds of input, to use alongside {@link JavaInp#IntegerConvert} and the other defaults. </p>
+ * <p>Everything a converter needs, such as a compiled pattern or a lookup table, is built when the converter is made,
+ * so each conversion is a single pass over the input. Build them once and reuse them, they are immutable and thread safe. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class Converters {
+
+    private Converters(){}
+
+    /**
+     * Converts ints between {@code min} and {@code max} inclusive, for both boxed and primitive validation.
+      */
+    public static final class IntRange implements ConvertToType<Integer>, ConvertToInt {
+        private final int min;
+        private final int max;
+
+        private IntRange(int min, int max){
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Integer Transform(String UserInp) throws InvalidInputException {
+            return TransformInt(UserInp, 0, UserInp.length());
+        }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Integer> result) {
+            if (!TryTransformInt(UserInp, 0, UserInp.length(), result)) {
+                return false;
+            }
+            return result.accept(result.getInt());
+        }
+
+        @Override
+        public int TransformInt(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!TryTransformInt(UserInp, start, end, result)) {
+                throw new InvalidInputException(UserInp.subSequence(start, end).toString(), result.getCause());
+            }
+            return result.getInt();
+        }
+
+        @Override
+        public boolean TryTransformInt(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            if (!NumberParsing.parseInt(UserInp, start, end, result)) {
+                return false;
+            }
+            int value = result.getInt();
+            return (value >= min && value <= max)? true : result.reject();
+        }
+    }
+
+    /**
+     * Converts longs between {@code min} and {@code max} inclusive, for both boxed and primitive validation.
+      */
+    public static final class LongRange implements ConvertToType<Long>, ConvertToLong {
+        private final long min;
+        private final long max;
+
+        private LongRange(long min, long max){
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Long Transform(String UserInp) throws InvalidInputException {
+            return TransformLong(UserInp, 0, UserInp.length());
+        }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Long> result) {
+            if (!TryTransformLong(UserInp, 0, UserInp.length(), result)) {
+                return false;
+            }
+            return result.accept(result.getLong());
+        }
+
+        @Override
+        public long TransformLong(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!TryTransformLong(UserInp, start, end, result)) {
+                throw new InvalidInputException(UserInp.subSequence(start, end).toString(), result.getCause());
+            }
+            return result.getLong();
+        }
+
+        @Override
+        public boolean TryTransformLong(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            if (!NumberParsing.parseLong(UserInp, start, end, result)) {
+                return false;
+            }
+            long value = result.getLong();
+            return (value >= min && value <= max)? true : result.reject();
+        }
+    }
+
+    /**
+     * Converts doubles between {@code min} and {@code max} inclusive, for both boxed and primitive validation. NaN is never in range.
+      */
+    public static final class DoubleRange implements ConvertToType<Double>, ConvertToDouble {
+        private final double min;
+        private final double max;
+
+        private DoubleRange(double min, double max){
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Double Transform(String UserInp) throws InvalidInputException {
+            return TransformDouble(UserInp, 0, UserInp.length());
+        }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Double> result) {
+            if (!TryTransformDouble(UserInp, 0, UserInp.length(), result)) {
+                return false;
+            }
+            return result.accept(result.getDouble());
+        }
+
+        @Override
+        public double TransformDouble(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!TryTransformDouble(UserInp, start, end, result)) {
+                throw new InvalidInputException(UserInp.subSequence(start, end).toString(), result.getCause());
+            }
+            return result.getDouble();
+        }
+
+        @Override
+        public boolean TryTransformDouble(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            if (!NumberParsing.parseDouble(UserInp, start, end, result)) {
+                return false;
+            }
+            double value = result.getDouble();
+            return (value >= min && value <= max)? true : result.reject();
+        }
+    }
+
+    /**
+     * Converts a fixed set of words to booleans, for both boxed and primitive validation.
+      */
+    public static final class BooleanWords implements ConvertToType<Boolean>, ConvertToBoolean {
+        private final Lookup words;
+
+        private BooleanWords(Lookup words){
+            this.words = words;
+        }
+
+        @Override
+        public Boolean Transform(String UserInp) throws InvalidInputException {
+            return TransformBoolean(UserInp, 0, UserInp.length());
+        }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Boolean> result) {
+            Object value = words.get(UserInp, 0, UserInp.length());
+            return (value != null)? result.accept((Boolean) value) : result.reject();
+        }
+
+        @Override
+        public boolean TransformBoolean(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            Object value = words.get(UserInp, start, end);
+            if (value == null) {
+                throw new InvalidInputException(UserInp.subSequence(start, end).toString());
+            }
+            return (Boolean) value;
+        }
+
+        @Override
+        public boolean TryTransformBoolean(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            Object value = words.get(UserInp, start, end);
+            return (value != null)? result.acceptBoolean((Boolean) value) : result.reject();
+        }
+    }
+
+    /** Accepts {@code true} and {@code false} in any case, like {@link Boolean#parseBoolean(String)} but rejecting anything else.  */
+    public final static BooleanWords BooleanIgnoringCase = booleanOf(List.of("true"), List.of("false"), true);
+
+    /**
+     * Converts ints between {@code min} and {@code max} inclusive.
+     * @param min smallest accepted value
+     * @param max largest accepted value
+     * @return the converter
+      */
+    public static IntRange intRange(int min, int max){
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is above max " + max);
+        }
+        return new IntRange(min, max);
+    }
+
+    /**
+     * Converts longs between {@code min} and {@code max} inclusive.
+     * @param min smallest accepted value
+     * @param max largest accepted value
+     * @return the converter
+      */
+    public static LongRange longRange(long min, long max){
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is above max " + max);
+        }
+        return new LongRange(min, max);
+    }
+
+    /**
+     * Converts doubles between {@code min} and {@code max} inclusive.
+     * @param min smallest accepted value
+     * @param max largest accepted value
+     * @return the converter
+      */
+    public static DoubleRange doubleRange(double min, double max){
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("min " + min + " is not below max " + max);
+        }
+        return new DoubleRange(min, max);
+    }
+
+    /**
+     * Accepts input that entirely matches the pattern, which is compiled once here.
+     * @param regex the regular expression
+     * @return the converter, giving back the input
+      */
+    public static ConvertToType<String> matching(String regex){
+        return matching(Pattern.compile(regex));
+    }
+
+    /**
+     * Accepts input that entirely matches the pattern.
+     * @param pattern the compiled pattern
+     * @return the converter, giving back the input
+      */
+    public static ConvertToType<String> matching(Pattern pattern){
+        if (pattern == null) {
+            throw new NullPointerException("pattern can't be null");
+        }
+        return new ConvertToType<String>() {
+            @Override
+            public String Transform(String UserInp) throws InvalidInputException {
+                if (!pattern.matcher(UserInp).matches()) {
+                    invalidateInput(UserInp);
+                }
+                return UserInp;
+            }
+
+            @Override
+            public boolean TryTransform(String UserInp, ConvertResult<String> result) {
+                return pattern.matcher(UserInp).matches()? result.accept(UserInp) : result.reject();
+            }
+        };
+    }
+
+    /**
+     * Converts the name of an enum constant into the constant.
+     * @param <E> the enum type
+     * @param type class of the enum
+     * @param ignoreCase whether names match ignoring case
+     * @return the converter
+     * @throws IllegalArgumentException if ignoring case makes two names the same
+      */
+    public static <E extends Enum<E>> ConvertToType<E> enumOf(Class<E> type, boolean ignoreCase){
+        Map<String, E> names = new LinkedHashMap<>();
+        for (E constant : type.getEnumConstants()) {
+            names.put(constant.name(), constant);
+        }
+        return choice(names, ignoreCase);
+    }
+
+    /**
+     * Converts one of a fixed set of responses into the value it maps to.
+     * @param <V> the resulting type
+     * @param choices each accepted response and its value, values can't be null
+     * @param ignoreCase whether responses match ignoring case
+     * @return the converter
+     * @throws IllegalArgumentException if ignoring case makes two responses the same
+      */
+    public static <V> ConvertToType<V> choice(Map<String, ? extends V> choices, boolean ignoreCase){
+        Lookup lookup = new Lookup(choices, ignoreCase);
+        return new ConvertToType<V>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public V Transform(String UserInp) throws InvalidInputException {
+                Object value = lookup.get(UserInp, 0, UserInp.length());
+                if (value == null) {
+                    invalidateInput(UserInp);
+                }
+                return (V) value;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean TryTransform(String UserInp, ConvertResult<V> result) {
+                Object value = lookup.get(UserInp, 0, UserInp.length());
+                return (value != null)? result.accept((V) value) : result.reject();
+            }
+        };
+    }
+
+    /**
+     * Converts words meaning true or false into booleans.
+     * @param trueWords responses meaning true
+     * @param falseWords responses meaning false
+     * @param ignoreCase whether responses match ignoring case
+     * @return the converter
+     * @throws IllegalArgumentException if a word means both true and false
+      */
+    public static BooleanWords booleanOf(Collection<String> trueWords, Collection<String> falseWords, boolean ignoreCase){
+        Map<String, Boolean> words = new LinkedHashMap<>();
+        for (String word : trueWords) {
+            words.put(word, Boolean.TRUE);
+        }
+        for (String word : falseWords) {
+            if (words.put(word, Boolean.FALSE) != null) {
+                throw new IllegalArgumentException("\"" + word + "\" means both true and false");
+            }
+        }
+        return new BooleanWords(new Lookup(words, ignoreCase));
+    }
+
+    /**
+     * Converts with {@code convert}, then maps each accepted value. The result is reused between the two, nothing is copied.
+     * @param <A> the type {@code convert} gives
+     * @param <B> the resulting type
+     * @param convert the first conversion
+     * @param mapper maps accepted values, must not throw to reject
+     * @return the converter
+      */
+    public static <A, B> ConvertToType<B> mapped(ConvertToType<A> convert, Function<? super A, ? extends B> mapper){
+        if (convert == null || mapper == null) {
+            throw new NullPointerException("convert and mapper can't be null");
+        }
+        return new ConvertToType<B>() {
+            @Override
+            public B Transform(String UserInp) throws InvalidInputException {
+                return mapper.apply(convert.Transform(UserInp));
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean TryTransform(String UserInp, ConvertResult<B> result) {
+                ConvertResult<A> inner = (ConvertResult<A>) result;
+                if (!convert.TryTransform(UserInp, inner)) {
+                    return false;
+                }
+                return result.accept(mapper.apply(inner.getValue()));
+            }
+        };
+    }
+
+    /**
+     * Converts with {@code convert}, then rejects values failing the test.
+     * @param <T> the resulting type
+     * @param convert the conversion
+     * @param test accepted values must pass it
+     * @return the converter
+      */
+    public static <T> ConvertToType<T> filtered(ConvertToType<T> convert, Predicate<? super T> test){
+        if (convert == null || test == null) {
+            throw new NullPointerException("convert and test can't be null");
+        }
+        return new ConvertToType<T>() {
+            @Override
+            public T Transform(String UserInp) throws InvalidInputException {
+                T value = convert.Transform(UserInp);
+                if (!test.test(value)) {
+                    invalidateInput(UserInp);
+                }
+                return value;
+            }
+
+            @Override
+            public boolean TryTransform(String UserInp, ConvertResult<T> result) {
+                if (!convert.TryTransform(UserInp, result)) {
+                    return false;
+                }
+                return test.test(result.getValue())? true : result.reject();
+            }
+        };
+    }
+
+    /**
+     * Open addressing table from responses to values, looked up from a region of any CharSequence.
+      */
+    private static final class Lookup {
+        private final String[] keys;
+        private final Object[] values;
+        private final int[] hashes;
+        private final int mask;
+        private final boolean ignoreCase;
+
+        Lookup(Map<String, ?> entries, boolean ignoreCase){
+            this.ignoreCase = ignoreCase;
+            int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2 + 1) * 2;
+            keys = new String[capacity];
+            values = new Object[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+
+            for (Map.Entry<String, ?> entry : entries.entrySet()) {
+                String key = entry.getKey();
+                if (key == null || entry.getValue() == null) {
+                    throw new NullPointerException("responses and values can't be null");
+                }
+                if (get(key, 0, key.length()) != null) {
+                    throw new IllegalArgumentException("\"" + key + "\" is given more than once");
+                }
+                int hash = hash(key, 0, key.length());
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = entry.getValue();
+                hashes[slot] = hash;
+            }
+        }
+
+        private int hash(CharSequence s, int start, int end){
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                h = 31 * h + (ignoreCase ? ResponseSet.fold(c) : c);
+            }
+            return h;
+        }
+
+        private boolean matches(String key, CharSequence s, int start, int end){
+            if (key.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                char a = key.charAt(i);
+                char b = s.charAt(start + i);
+                if (a != b && (!ignoreCase || ResponseSet.fold(a) != ResponseSet.fold(b))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the value for the region, null if it isn't a response
+          */
+        Object get(CharSequence s, int start, int end){
+            int hash = hash(s, start, end);
+            for (int slot = (hash ^ (hash >>> 16)) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && matches(keys[slot], s, start, end)) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+    }
+}
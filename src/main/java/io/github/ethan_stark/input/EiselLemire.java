@@ -0,0 +1,139 @@
+package io.github.ethan_stark.input;
+
+import java.math.BigInteger;
+
+
+/**
+ * <p>Turns a decimal significand and exponent into the nearest double with the Eisel-Lemire algorithm, as used by fast_float. </p>
+ * <p>{@code w * 10^q} is found by multiplying {@code w} by a 128 bit truncation of {@code 5^q},
+ * which gives the correctly rounded double for any {@code w} of up to 64 bits. The table of powers of five
+ * is built once with {@link BigInteger}, the same way fast_float generates its table. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+final class EiselLemire {
+
+    /** Smallest decimal exponent with a table entry, anything smaller rounds to zero.  */
+    final static int SMALLEST_POWER_OF_TEN = -342;
+    /** Largest decimal exponent with a table entry, anything larger is infinite.  */
+    final static int LARGEST_POWER_OF_TEN = 308;
+
+    private final static int MANTISSA_EXPLICIT_BITS = 52;
+    private final static int MINIMUM_EXPONENT = -1023;
+    private final static int INFINITE_POWER = 0x7FF;
+    /** Decimal exponents where a product can be exactly halfway between two doubles.  */
+    private final static int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+    private final static int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+
+    /** High and low 64 bits of each power of five from {@link #SMALLEST_POWER_OF_TEN}, normalised so the top bit is set.  */
+    private final static long[] POWERS_OF_FIVE = powersOfFive();
+
+    private EiselLemire(){}
+
+    private static long[] powersOfFive(){
+        long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+        BigInteger twoTo128 = BigInteger.ONE.shiftLeft(128);
+        int index = 0;
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power = BigInteger.valueOf(5).pow(Math.abs(q));
+            BigInteger value;
+            if (q < 0) {
+                // reciprocal rounded up, then truncated to 128 bits
+                int z = power.subtract(BigInteger.ONE).bitLength();
+                int b = (q >= -27) ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                while (value.compareTo(twoTo128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            else {
+                value = (power.bitLength() <= 128) ? power.shiftLeft(128 - power.bitLength()) : power.shiftRight(power.bitLength() - 128);
+            }
+            table[index++] = value.shiftRight(64).longValue();
+            table[index++] = value.longValue();
+        }
+        return table;
+    }
+
+    /**
+     * Finds the double nearest {@code w * 10^q}, ties to even.
+     * @param w the decimal significand, unsigned and non-zero
+     * @param q the decimal exponent
+     * @return the raw bits of the positive result
+      */
+    static long toBits(long w, int q){
+        if (w == 0 || q < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // w times the power of five, only the high bits are needed
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (MANTISSA_EXPLICIT_BITS + 3);
+        if ((high & precisionMask) == precisionMask) {
+            // the truncated bits could carry into the mantissa, so bring in the lower half of the power
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high ++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = power(q) + upperBit - lz - MINIMUM_EXPONENT;
+
+        if (power2 <= 0) {
+            // subnormal, or zero if every bit falls below the smallest subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += (mantissa & 1);
+            mantissa >>>= 1;
+            power2 = (mantissa < (1L << MANTISSA_EXPLICIT_BITS)) ? 0 : 1;
+            return bits(mantissa, power2);
+        }
+
+        // exactly halfway between two doubles rounds to even rather than up
+        if ((low == 0 || low == 1) && q >= MIN_EXPONENT_ROUND_TO_EVEN && q <= MAX_EXPONENT_ROUND_TO_EVEN
+                && (mantissa & 3) == 1 && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += (mantissa & 1);
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_EXPLICIT_BITS)) {
+            mantissa = 1L << MANTISSA_EXPLICIT_BITS;
+            power2 ++;
+        }
+        if (power2 >= INFINITE_POWER) {
+            return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        }
+        return bits(mantissa, power2);
+    }
+
+    private static long bits(long mantissa, int power2){
+        return (mantissa & ((1L << MANTISSA_EXPLICIT_BITS) - 1)) | ((long) power2 << MANTISSA_EXPLICIT_BITS);
+    }
+
+    /**
+     * floor(log2(10^q)) + 63, exact for the table's range.
+      */
+    private static int power(int q){
+        return (((152170 + 65536) * q) >> 16) + 63;
+    }
+
+    /**
+     * The high 64 bits of the unsigned 128 bit product, {@code Math.unsignedMultiplyHigh} before Java 18.
+      */
+    private static long unsignedMultiplyHigh(long x, long y){
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+
+/**
+ * <p>Splittable lines of a byte range of a file, so parallel streams over a file really run in parallel. </p>
+ * <p>{@link #trySplit()} cuts the range in half and moves the cut forward to the next line start,
+ * so every line belongs to exactly one part. Each part reads its range with positional reads through
+ * a {@link BufferedLineReader}, parts share the channel without sharing a position. </p>
+ * <p>Size estimates come from the average line length in the first part of the file. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+final class FileLineSpliterator implements Spliterator<String> {
+
+    /** Ranges smaller than this aren't split.  */
+    private final static long MIN_SPLIT_BYTES = 64 * 1024;
+    private final static int SAMPLE_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final double bytesPerLine;
+    private final long end;
+    private long start;
+    private BufferedLineReader reader;
+
+    /**
+     * Covers the whole file.
+     * @param channel the open file, closed by the caller
+     * @param charset charset of the file, line ends must be single ASCII bytes in it
+     * @throws IOException if the file can't be read
+      */
+    FileLineSpliterator(FileChannel channel, Charset charset) throws IOException{
+        this(channel, charset, 0, channel.size(), sampleBytesPerLine(channel));
+        if (!BufferedLineReader.isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Line ends can't be found by byte in " + charset);
+        }
+    }
+
+    private FileLineSpliterator(FileChannel channel, Charset charset, long start, long end, double bytesPerLine){
+        this.channel = channel;
+        this.charset = charset;
+        this.start = start;
+        this.end = end;
+        this.bytesPerLine = bytesPerLine;
+    }
+
+    private static double sampleBytesPerLine(FileChannel channel) throws IOException{
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(SAMPLE_BYTES, channel.size()));
+        while (sample.hasRemaining() && channel.read(sample, sample.position()) > 0) {
+            // keep reading until the sample is full
+        }
+        int lines = 0;
+        for (int i = 0; i < sample.position(); i++) {
+            byte b = sample.get(i);
+            if (b == '\n' || (b == '\r' && (i + 1 >= sample.position() || sample.get(i + 1) != '\n'))) {
+                lines ++;
+            }
+        }
+        return (lines == 0)? Math.max(1, sample.position()) : (double) sample.position() / lines;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action){
+        if (reader == null) {
+            if (start >= end) {
+                return false;
+            }
+            reader = new BufferedLineReader(new RangeStream(channel, start, end), charset);
+        }
+        if (!reader.hasNextLine()) {
+            if (reader.ioException() != null) {
+                throw new UncheckedIOException(reader.ioException());
+            }
+            return false;
+        }
+        action.accept(reader.nextLine());
+        return true;
+    }
+
+    @Override
+    public Spliterator<String> trySplit(){
+        if (reader != null || end - start < MIN_SPLIT_BYTES) {
+            return null;
+        }
+        long cut;
+        try {
+            cut = nextLineStart(start + (end - start) / 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (cut <= start || cut >= end) {
+            return null;
+        }
+        FileLineSpliterator prefix = new FileLineSpliterator(channel, charset, start, cut, bytesPerLine);
+        start = cut;
+        return prefix;
+    }
+
+    /**
+     * Finds the first line start at or after {@code position}.
+     * @return the line start, or {@link #end} if there is none in the range
+      */
+    private long nextLineStart(long position) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long at = position - 1;
+        boolean afterReturn = false;
+        while (at < end) {
+            buffer.clear();
+            int read = channel.read(buffer, at);
+            if (read <= 0) {
+                return end;
+            }
+            for (int i = 0; i < read; i++, at++) {
+                byte b = buffer.get(i);
+                if (afterReturn) {
+                    return (b == '\n')? at + 1 : at;
+                }
+                if (b == '\n') {
+                    return at + 1;
+                }
+                afterReturn = (b == '\r');
+            }
+        }
+        return end;
+    }
+
+    @Override
+    public long estimateSize(){
+        return (long) Math.ceil((end - start) / bytesPerLine);
+    }
+
+    @Override
+    public int characteristics(){
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Reads a byte range of a channel with positional reads.
+      */
+    private static final class RangeStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeStream(FileChannel channel, long start, long end){
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException{
+            if (position >= end) {
+                return -1;
+            }
+            int count = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException{
+            byte[] one = new byte[1];
+            return (read(one, 0, 1) <= 0)? -1 : one[0] & 0xFF;
+        }
+    }
+}
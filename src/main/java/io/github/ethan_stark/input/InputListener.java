@@ -0,0 +1,29 @@
+package io.github.ethan_stark.input;
+
+
+/**
+ * <p>Told about everything a {@link JavaInp} asks, reads and decides, set with {@link JavaInp#setListener(InputListener)}. </p>
+ * <p>Used by {@link SessionRecorder} and {@link SessionReplay}, every method does nothing by default. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public interface InputListener {
+
+    /**
+     * Called before a line is read for a prompt, even if prompts are suppressed.
+     * @param message the prompt
+      */
+    default void prompted(String message){}
+
+    /**
+     * Called after a line is read.
+     * @param line the line, a view is only valid during the call
+      */
+    default void lineRead(CharSequence line){}
+
+    /**
+     * Called after each answer checked by a validate method.
+     * @param accepted whether the answer was accepted
+      */
+    default void validated(boolean accepted){}
+}
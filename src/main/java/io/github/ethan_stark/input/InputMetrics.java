@@ -0,0 +1,451 @@
+package io.github.ethan_stark.input;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * <p>Counts what {@link JavaInp} does: lines read, answers checked, why answers were rejected and how often the default was used. </p>
+ * <p>Also keeps latency histograms of the time spent waiting for lines and of the time each converter class takes.
+ * Enable it with {@link JavaInp#setMetrics(InputMetrics)}, one instance can be shared by many {@code JavaInp}s on different threads.
+ * Without metrics {@code JavaInp} skips all of this, including the clock reads. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class InputMetrics implements InputMetricsMXBean {
+
+    /** Name used by {@link #register()}.  */
+    public final static String DEFAULT_OBJECT_NAME = "io.github.ethan_stark.input:type=InputMetrics";
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder validListRejections = new LongAdder();
+    private final LongAdder invalidListRejections = new LongAdder();
+    private final LongAdder converterRejections = new LongAdder();
+    private final LongAdder defaultFallbacks = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder canonicalAnswers = new LongAdder();
+    private final LongAdder canonicalBytesSaved = new LongAdder();
+    private final Histogram readWait = new Histogram();
+    private final ConcurrentHashMap<Class<?>, Histogram> conversions = new ConcurrentHashMap<>();
+
+    /**
+     * Latencies bucketed by powers of two, bucket {@code i} holds times from {@code 2^(i-1)} up to {@code 2^i} nanoseconds.
+      */
+    static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos){
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos));
+            totalNanos.add(nanos);
+        }
+
+        HistogramSnapshot snapshot(){
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new HistogramSnapshot(counts, totalNanos.sum());
+        }
+
+        void reset(){
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            totalNanos.reset();
+        }
+    }
+
+    /**
+     * An unchanging copy of a latency histogram.
+      */
+    public static final class HistogramSnapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long totalNanos;
+
+        HistogramSnapshot(long[] buckets, long totalNanos){
+            this.buckets = buckets;
+            this.totalNanos = totalNanos;
+            long sum = 0;
+            for (long bucket : buckets) {
+                sum += bucket;
+            }
+            this.count = sum;
+        }
+
+        /**
+         * @return number of recorded times
+          */
+        public long getCount(){
+            return count;
+        }
+
+        /**
+         * @return sum of the recorded times
+          */
+        public long getTotalNanos(){
+            return totalNanos;
+        }
+
+        /**
+         * @return mean of the recorded times, 0 if there are none
+          */
+        public long getMeanNanos(){
+            return (count == 0)? 0 : totalNanos / count;
+        }
+
+        /**
+         * Gets an upper bound for a percentile, accurate to the power of two bucket it falls in.
+         * @param percentile between 0 and 100
+         * @return the bucket's upper bound in nanoseconds, 0 if nothing was recorded
+          */
+        public long getPercentileNanos(double percentile){
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(1, rank)) {
+                    return (i == 0)? 0 : (i >= 63)? Long.MAX_VALUE : (1L << i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * @return count in each bucket, bucket {@code i} holds times below {@code 2^i} nanoseconds
+          */
+        public long[] getBuckets(){
+            return buckets.clone();
+        }
+    }
+
+    /**
+     * An unchanging copy of all the metrics.
+      */
+    public static final class Snapshot {
+        private final long reads;
+        private final long validations;
+        private final long attempts;
+        private final long validListRejections;
+        private final long invalidListRejections;
+        private final long converterRejections;
+        private final long defaultFallbacks;
+        private final long timeouts;
+        private final long canonicalAnswers;
+        private final long canonicalBytesSaved;
+        private final HistogramSnapshot readWait;
+        private final Map<String, HistogramSnapshot> conversions;
+
+        private Snapshot(InputMetrics metrics){
+            reads = metrics.reads.sum();
+            validations = metrics.validations.sum();
+            attempts = metrics.attempts.sum();
+            validListRejections = metrics.validListRejections.sum();
+            invalidListRejections = metrics.invalidListRejections.sum();
+            converterRejections = metrics.converterRejections.sum();
+            defaultFallbacks = metrics.defaultFallbacks.sum();
+            timeouts = metrics.timeouts.sum();
+            canonicalAnswers = metrics.canonicalAnswers.sum();
+            canonicalBytesSaved = metrics.canonicalBytesSaved.sum();
+            readWait = metrics.readWait.snapshot();
+            Map<String, HistogramSnapshot> byName = new TreeMap<>();
+            metrics.conversions.forEach((type, histogram) -> byName.put(type.getName(), histogram.snapshot()));
+            conversions = Collections.unmodifiableMap(byName);
+        }
+
+        /**
+         * @return number of lines read
+          */
+        public long getReads(){
+            return reads;
+        }
+
+        /**
+         * @return number of validateInput calls
+          */
+        public long getValidations(){
+            return validations;
+        }
+
+        /**
+         * @return number of answers checked by validateInput
+          */
+        public long getAttempts(){
+            return attempts;
+        }
+
+        /**
+         * @return answers rejected for not being in the valid responses
+          */
+        public long getValidListRejections(){
+            return validListRejections;
+        }
+
+        /**
+         * @return answers rejected for being in the invalid responses
+          */
+        public long getInvalidListRejections(){
+            return invalidListRejections;
+        }
+
+        /**
+         * @return answers rejected by the converter
+          */
+        public long getConverterRejections(){
+            return converterRejections;
+        }
+
+        /**
+         * @return validateInput calls that gave the default
+          */
+        public long getDefaultFallbacks(){
+            return defaultFallbacks;
+        }
+
+        /**
+         * @return timed reads that got no line in time
+          */
+        public long getTimeouts(){
+            return timeouts;
+        }
+
+        /**
+         * @return answers given as a shared instance instead of a new String
+          */
+        public long getCanonicalAnswers(){
+            return canonicalAnswers;
+        }
+
+        /**
+         * @return estimated heap those answers would have taken as new Strings
+          */
+        public long getCanonicalBytesSaved(){
+            return canonicalBytesSaved;
+        }
+
+        /**
+         * @return time spent waiting for lines
+          */
+        public HistogramSnapshot getReadWait(){
+            return readWait;
+        }
+
+        /**
+         * @return conversion times by converter class name
+          */
+        public Map<String, HistogramSnapshot> getConversions(){
+            return conversions;
+        }
+
+        @Override
+        public String toString(){
+            return "InputMetrics[reads=" + reads + ", validations=" + validations + ", attempts=" + attempts
+                + ", validListRejections=" + validListRejections + ", invalidListRejections=" + invalidListRejections
+                + ", converterRejections=" + converterRejections + ", defaultFallbacks=" + defaultFallbacks
+                + ", timeouts=" + timeouts + ", canonicalAnswers=" + canonicalAnswers + ", canonicalBytesSaved=" + canonicalBytesSaved
+                + ", readWaitMeanNanos=" + readWait.getMeanNanos() + "]";
+        }
+    }
+
+    /**
+     * Records the time spent waiting for a line.
+     * @param nanos time waited
+      */
+    void recordRead(long nanos){
+        reads.increment();
+        readWait.record(nanos);
+    }
+
+    /** Records the start of a validateInput call.  */
+    void recordValidation(){
+        validations.increment();
+    }
+
+    /**
+     * Records an answer checked against the response sets.
+     * @param allowed whether the sets allowed it
+     * @param byValidList whether a valid response set decided it, instead of the invalid set
+      */
+    void recordAttempt(boolean allowed, boolean byValidList){
+        attempts.increment();
+        if (!allowed) {
+            (byValidList ? validListRejections : invalidListRejections).increment();
+        }
+    }
+
+    /**
+     * Records a conversion.
+     * @param type class of the converter
+     * @param nanos time it took
+     * @param rejected whether the converter rejected an answer the response sets allowed
+      */
+    void recordConversion(Class<?> type, long nanos, boolean rejected){
+        Histogram histogram = conversions.get(type);
+        if (histogram == null) {
+            histogram = conversions.computeIfAbsent(type, ignored -> new Histogram());
+        }
+        histogram.record(nanos);
+        if (rejected) {
+            converterRejections.increment();
+        }
+    }
+
+    /** Records a validateInput call giving its default.  */
+    void recordDefault(){
+        defaultFallbacks.increment();
+    }
+
+    /** Records a timed read that got no line in time.  */
+    void recordTimeout(){
+        timeouts.increment();
+    }
+
+    /**
+     * Records an answer given as a shared String.
+     * @param length the answers length
+      */
+    void recordCanonical(int length){
+        canonicalAnswers.increment();
+        canonicalBytesSaved.add(StringPool.estimatedSize(length));
+    }
+
+    /**
+     * @return a copy of the current metrics
+      */
+    public Snapshot snapshot(){
+        return new Snapshot(this);
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as {@link #DEFAULT_OBJECT_NAME}.
+     * @return the registered name
+     * @throws JMException if the name is taken or the bean can't be registered
+      */
+    public ObjectName register() throws JMException{
+        return register(new ObjectName(DEFAULT_OBJECT_NAME));
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     * @param name the name to register under
+     * @return the registered name
+     * @throws JMException if the name is taken or the bean can't be registered
+      */
+    public ObjectName register(ObjectName name) throws JMException{
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        return server.registerMBean(this, name).getObjectName();
+    }
+
+    @Override
+    public long getReads(){
+        return reads.sum();
+    }
+
+    @Override
+    public long getValidations(){
+        return validations.sum();
+    }
+
+    @Override
+    public long getAttempts(){
+        return attempts.sum();
+    }
+
+    @Override
+    public long getValidListRejections(){
+        return validListRejections.sum();
+    }
+
+    @Override
+    public long getInvalidListRejections(){
+        return invalidListRejections.sum();
+    }
+
+    @Override
+    public long getConverterRejections(){
+        return converterRejections.sum();
+    }
+
+    @Override
+    public long getDefaultFallbacks(){
+        return defaultFallbacks.sum();
+    }
+
+    @Override
+    public long getTimeouts(){
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getCanonicalAnswers(){
+        return canonicalAnswers.sum();
+    }
+
+    @Override
+    public long getCanonicalBytesSaved(){
+        return canonicalBytesSaved.sum();
+    }
+
+    @Override
+    public long getReadWaitMeanNanos(){
+        return readWait.snapshot().getMeanNanos();
+    }
+
+    @Override
+    public long getReadWaitP99Nanos(){
+        return readWait.snapshot().getPercentileNanos(99);
+    }
+
+    @Override
+    public Map<String, Long> getConversionMeanNanos(){
+        Map<String, Long> means = new TreeMap<>();
+        snapshot().getConversions().forEach((name, histogram) -> means.put(name, histogram.getMeanNanos()));
+        return means;
+    }
+
+    @Override
+    public Map<String, Long> getConversionP99Nanos(){
+        Map<String, Long> p99 = new TreeMap<>();
+        snapshot().getConversions().forEach((name, histogram) -> p99.put(name, histogram.getPercentileNanos(99)));
+        return p99;
+    }
+
+    @Override
+    public void reset(){
+        reads.reset();
+        validations.reset();
+        attempts.reset();
+        validListRejections.reset();
+        invalidListRejections.reset();
+        converterRejections.reset();
+        defaultFallbacks.reset();
+        timeouts.reset();
+        canonicalAnswers.reset();
+        canonicalBytesSaved.reset();
+        readWait.reset();
+        conversions.clear();
+    }
+
+    @Override
+    public String toString(){
+        return snapshot().toString();
+    }
+}
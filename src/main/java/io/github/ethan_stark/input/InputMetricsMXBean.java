@@ -0,0 +1,88 @@
+package io.github.ethan_stark.input;
+
+import java.util.Map;
+
+
+/**
+ * <p>Management interface of {@link InputMetrics}, shown in JConsole and other JMX clients once registered. </p>
+ * <p>Latencies are in nanoseconds, percentiles are the upper bound of the power of two bucket they fall in. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public interface InputMetricsMXBean {
+
+    /**
+     * @return number of lines read
+      */
+    public long getReads();
+
+    /**
+     * @return number of validateInput calls
+      */
+    public long getValidations();
+
+    /**
+     * @return number of answers checked by validateInput
+      */
+    public long getAttempts();
+
+    /**
+     * @return answers rejected for not being in the valid responses
+      */
+    public long getValidListRejections();
+
+    /**
+     * @return answers rejected for being in the invalid responses
+      */
+    public long getInvalidListRejections();
+
+    /**
+     * @return answers rejected by the converter
+      */
+    public long getConverterRejections();
+
+    /**
+     * @return validateInput calls that ran out of attempts and gave the default
+      */
+    public long getDefaultFallbacks();
+
+    /**
+     * @return timed reads that got no line before their timeout or deadline
+      */
+    public long getTimeouts();
+
+    /**
+     * @return answers given as a shared instance by a canonical validator, see {@link Validator#canonicalStrings(StringPool)}
+      */
+    public long getCanonicalAnswers();
+
+    /**
+     * @return estimated heap those answers would have taken as new Strings
+      */
+    public long getCanonicalBytesSaved();
+
+    /**
+     * @return mean time spent waiting for a line
+      */
+    public long getReadWaitMeanNanos();
+
+    /**
+     * @return 99th percentile of the time spent waiting for a line
+      */
+    public long getReadWaitP99Nanos();
+
+    /**
+     * @return mean conversion time for each converter class
+      */
+    public Map<String, Long> getConversionMeanNanos();
+
+    /**
+     * @return 99th percentile conversion time for each converter class
+      */
+    public Map<String, Long> getConversionP99Nanos();
+
+    /**
+     * Sets every counter and histogram back to zero.
+      */
+    public void reset();
+}
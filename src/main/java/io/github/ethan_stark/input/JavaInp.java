@@ -4,10 +4,18 @@
 package io.github.ethan_stark.input;
 
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 /**
@@ -36,6 +44,22 @@ public class JavaInp implements AutoCloseable{
           */
         public T Transform(String UserInp) throws InvalidInputException;
 
+        /**
+         * <p>Converts the given string without throwing, used by the validateInput methods. </p>
+         * <p>By default adapts {@link #Transform(String)}, converters that reject often should override it
+         * and call {@link ConvertResult#reject()} instead of throwing. </p>
+         * @param UserInp The users input
+         * @param result where the converted value or rejection goes
+         * @return whether UserInp was a valid input
+          */
+        default boolean TryTransform(String UserInp, ConvertResult<T> result){
+            try {
+                return result.accept(Transform(UserInp));
+            } catch (InvalidInputException e) {
+                return result.reject(e);
+            }
+        }
+
         /**
          * Invalidates a user input for use in {@link JavaInp#validateInput(String, String, ConvertToType, List, List , int , Object)}
          * <br>
@@ -62,6 +86,161 @@ public class JavaInp implements AutoCloseable{
         default void invalidateInput(String input, Throwable thrown) throws InvalidInputException{
             throw new InvalidInputException(input, thrown);
         }
+
+        /**
+         * Invalidates a user input like {@link #invalidateInput(String)}, without filling in a stack trace.
+         * @see InvalidInputException#stackless(String)
+         * @param input the invalid input.
+         * @throws InvalidInputException Using provided input
+          */
+        default void invalidateInputStackless(String input) throws InvalidInputException{
+            throw InvalidInputException.stackless(input);
+        }
+
+        /**
+         * Invalidates a user input by throwing the shared {@link InvalidInputException#PREALLOCATED} exception,
+         * nothing gets allocated.
+         * @throws InvalidInputException The preallocated exception
+          */
+        default void invalidateInputPreallocated() throws InvalidInputException{
+            throw InvalidInputException.PREALLOCATED;
+        }
+    }
+
+    /**
+     * Dictates how to transform user input to an {@code int} without boxing.
+     * @author Ethan Stark-Hrynkiw
+     * @version 0.1
+      */
+    public static interface ConvertToInt {
+
+        /**
+         * Converts the characters {@code start} to {@code end} of the input into an int.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return the converted int
+         * @throws InvalidInputException If the region was not a valid input
+          */
+        public int TransformInt(CharSequence UserInp, int start, int end) throws InvalidInputException;
+
+        /**
+         * Converts the region without throwing, adapts {@link #TransformInt(CharSequence, int, int)} by default.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @param result where the int or rejection goes, see {@link ConvertResult#getInt()}
+         * @return whether the region was a valid input
+          */
+        default boolean TryTransformInt(CharSequence UserInp, int start, int end, ConvertResult<?> result){
+            try {
+                return result.acceptInt(TransformInt(UserInp, start, end));
+            } catch (InvalidInputException e) {
+                return result.reject(e);
+            }
+        }
+    }
+
+    /**
+     * Dictates how to transform user input to a {@code long} without boxing.
+     * @author Ethan Stark-Hrynkiw
+     * @version 0.1
+      */
+    public static interface ConvertToLong {
+
+        /**
+         * Converts the characters {@code start} to {@code end} of the input into a long.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return the converted long
+         * @throws InvalidInputException If the region was not a valid input
+          */
+        public long TransformLong(CharSequence UserInp, int start, int end) throws InvalidInputException;
+
+        /**
+         * Converts the region without throwing, adapts {@link #TransformLong(CharSequence, int, int)} by default.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @param result where the long or rejection goes, see {@link ConvertResult#getLong()}
+         * @return whether the region was a valid input
+          */
+        default boolean TryTransformLong(CharSequence UserInp, int start, int end, ConvertResult<?> result){
+            try {
+                return result.acceptLong(TransformLong(UserInp, start, end));
+            } catch (InvalidInputException e) {
+                return result.reject(e);
+            }
+        }
+    }
+
+    /**
+     * Dictates how to transform user input to a {@code double} without boxing.
+     * @author Ethan Stark-Hrynkiw
+     * @version 0.1
+      */
+    public static interface ConvertToDouble {
+
+        /**
+         * Converts the characters {@code start} to {@code end} of the input into a double.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return the converted double
+         * @throws InvalidInputException If the region was not a valid input
+          */
+        public double TransformDouble(CharSequence UserInp, int start, int end) throws InvalidInputException;
+
+        /**
+         * Converts the region without throwing, adapts {@link #TransformDouble(CharSequence, int, int)} by default.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @param result where the double or rejection goes, see {@link ConvertResult#getDouble()}
+         * @return whether the region was a valid input
+          */
+        default boolean TryTransformDouble(CharSequence UserInp, int start, int end, ConvertResult<?> result){
+            try {
+                return result.acceptDouble(TransformDouble(UserInp, start, end));
+            } catch (InvalidInputException e) {
+                return result.reject(e);
+            }
+        }
+    }
+
+    /**
+     * Dictates how to transform user input to a {@code boolean} without boxing.
+     * @author Ethan Stark-Hrynkiw
+     * @version 0.1
+      */
+    public static interface ConvertToBoolean {
+
+        /**
+         * Converts the characters {@code start} to {@code end} of the input into a boolean.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return the converted boolean
+         * @throws InvalidInputException If the region was not a valid input
+          */
+        public boolean TransformBoolean(CharSequence UserInp, int start, int end) throws InvalidInputException;
+
+        /**
+         * Converts the region without throwing, adapts {@link #TransformBoolean(CharSequence, int, int)} by default.
+         * @param UserInp The users input
+         * @param start index of the first character
+         * @param end index after the last character
+         * @param result where the boolean or rejection goes, see {@link ConvertResult#getBoolean()}
+         * @return whether the region was a valid input
+          */
+        default boolean TryTransformBoolean(CharSequence UserInp, int start, int end, ConvertResult<?> result){
+            try {
+                return result.acceptBoolean(TransformBoolean(UserInp, start, end));
+            } catch (InvalidInputException e) {
+                return result.reject(e);
+            }
+        }
     }
 
     /**
@@ -90,21 +269,73 @@ public class JavaInp implements AutoCloseable{
             super("Invalid input\"" + input + "\" given.");
             erroredInput = input;
         }
+        /**
+         * Chains Throwable with errored input, optionally without a stack trace.
+         * Stackless exceptions are much cheaper to create when inputs are rejected often.
+         * @param input The errored input
+         * @param thrown The throwable to chain, may be null
+         * @param writableStackTrace whether to fill in the stack trace
+          */
+        public InvalidInputException(String input, Throwable thrown, boolean writableStackTrace){
+            super("Invalid input\"" + input + "\" given.", thrown, writableStackTrace, writableStackTrace);
+            erroredInput = input;
+        }
+
+        /** Shared exception without a stack trace or errored input, for converters that must throw but shouldn't allocate.  */
+        public final static InvalidInputException PREALLOCATED = new InvalidInputException(null, null, false);
+
+        /**
+         * Creates an exception without a stack trace.
+         * @param input The errored input
+         * @return the exception
+          */
+        public static InvalidInputException stackless(String input){
+            return new InvalidInputException(input, null, false);
+        }
+
+        /**
+         * @return the error causing input, null for {@link #PREALLOCATED}
+          */
+        public String getErroredInput(){
+            return erroredInput;
+        }
     }
 
-    private Scanner inpScanner;
-    private final String StandardErrorMsg = "Invalid response. Please try again.";
+    private LineSource lineSource;
+    private PromptSink output = PromptSink.systemOut();
+    private boolean promptsSuppressed = false;
+    /** Whether the source reads {@code System.in}, the only input a terminal check applies to.  */
+    private final boolean readsSystemIn;
+    private InputMetrics metrics;
+    private InputListener listener;
+    private final ConvertResult<Object> scratchResult = new ConvertResult<>();
+    private final boolean invalidInputHooked = HOOKS_INVALID_INPUT.get(getClass());
+    /** Error message used when none is given.  */
+    final static String StandardErrorMsg = "Invalid response. Please try again.";
     
-    /** Default way to convert doubles  */
+    /**
+     * Default way to convert doubles, accepts exactly what {@link Double#valueOf(String)} does and gives bit for bit the same value.
+     * Decimals are parsed without a {@code NumberFormatException} or the JDK's general parsing path.
+      */
     public final static ConvertToType<Double> DoubleConvert = new ConvertToType<Double>() {
         @Override
         public Double Transform(String UserInp) throws InvalidInputException {
-            try {
-                return Double.valueOf(UserInp);
-            } catch (NumberFormatException e) {
-                invalidateInput(UserInp, e);
-                return 0.0;
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!NumberParsing.parseDouble(UserInp, 0, UserInp.length(), result)) {
+                // the parser rejects without an exception, so the cause is made here like Double.valueOf would
+                Throwable cause = result.getCause();
+                throw new InvalidInputException(UserInp,
+                    (cause != null)? cause : new NumberFormatException("For input string: \"" + UserInp + "\""));
+            }
+            return result.getDouble();
+        }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Double> result) {
+            if (!NumberParsing.parseDouble(UserInp, 0, UserInp.length(), result)) {
+                return false;
             }
+            return result.accept(result.getDouble());
         }
     };
 
@@ -120,6 +351,14 @@ public class JavaInp implements AutoCloseable{
                 return 0;
             }
         }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Integer> result) {
+            if (!NumberParsing.parseInt(UserInp, 0, UserInp.length(), result)) {
+                return false;
+            }
+            return result.accept(result.getInt());
+        }
         
     };
 
@@ -129,6 +368,11 @@ public class JavaInp implements AutoCloseable{
         public String Transform(String UserInp) {
             return UserInp;
         }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<String> result) {
+            return result.accept(UserInp);
+        }
     };
 
     /** Default way to convert booleans  */
@@ -148,6 +392,90 @@ public class JavaInp implements AutoCloseable{
             }
             return IsBool;
         }
+
+        @Override
+        public boolean TryTransform(String UserInp, ConvertResult<Boolean> result) {
+            if (!BooleanPrimitiveConvert.TryTransformBoolean(UserInp, 0, UserInp.length(), result)) {
+                return false;
+            }
+            return result.accept(result.getBoolean());
+        }
+    };
+
+    /** Default way to convert ints without boxing, accepts the same inputs as {@link #IntegerConvert}  */
+    public final static ConvertToInt IntPrimitiveConvert = new ConvertToInt() {
+        @Override
+        public int TransformInt(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            try {
+                return Integer.parseInt(UserInp, start, end, 10);
+            } catch (NumberFormatException e) {
+                invalidateInput(UserInp.subSequence(start, end).toString(), e);
+                return 0;
+            }
+        }
+
+        @Override
+        public boolean TryTransformInt(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            return NumberParsing.parseInt(UserInp, start, end, result);
+        }
+    };
+
+    /** Default way to convert longs without boxing  */
+    public final static ConvertToLong LongPrimitiveConvert = new ConvertToLong() {
+        @Override
+        public long TransformLong(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            try {
+                return Long.parseLong(UserInp, start, end, 10);
+            } catch (NumberFormatException e) {
+                invalidateInput(UserInp.subSequence(start, end).toString(), e);
+                return 0;
+            }
+        }
+
+        @Override
+        public boolean TryTransformLong(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            return NumberParsing.parseLong(UserInp, start, end, result);
+        }
+    };
+
+    /** Default way to convert doubles without boxing, accepts the same inputs as {@link #DoubleConvert}  */
+    public final static ConvertToDouble DoublePrimitiveConvert = new ConvertToDouble() {
+        @Override
+        public double TransformDouble(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!NumberParsing.parseDouble(UserInp, start, end, result)) {
+                invalidateInput(UserInp.subSequence(start, end).toString());
+            }
+            return result.getDouble();
+        }
+
+        @Override
+        public boolean TryTransformDouble(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            return NumberParsing.parseDouble(UserInp, start, end, result);
+        }
+    };
+
+    /** Default way to convert booleans without boxing, accepts the same inputs as {@link #BooleanConvert}  */
+    public final static ConvertToBoolean BooleanPrimitiveConvert = new ConvertToBoolean() {
+        @Override
+        public boolean TransformBoolean(CharSequence UserInp, int start, int end) throws InvalidInputException {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (!TryTransformBoolean(UserInp, start, end, result)) {
+                invalidateInput(UserInp.subSequence(start, end).toString());
+            }
+            return result.getBoolean();
+        }
+
+        @Override
+        public boolean TryTransformBoolean(CharSequence UserInp, int start, int end, ConvertResult<?> result) {
+            if (NumberParsing.equals(UserInp, start, end, "true") || NumberParsing.equals(UserInp, start, end, "True")) {
+                return result.acceptBoolean(true);
+            }
+            if (NumberParsing.equals(UserInp, start, end, "false") || NumberParsing.equals(UserInp, start, end, "False")) {
+                return result.acceptBoolean(false);
+            }
+            return result.reject();
+        }
     };
 
     /**
@@ -155,26 +483,270 @@ public class JavaInp implements AutoCloseable{
      * @param stream The input stream to use.
       */
     public JavaInp(InputStream stream){
-        inpScanner = new Scanner(stream);
+        lineSource = new ScannerLineSource(stream);
+        readsSystemIn = (stream == System.in);
     }
     /**
      * Uses {@code System.in} to get inputs.
       */
     public JavaInp(){
-        inpScanner = new Scanner(System.in);
+        this(System.in);
     }
     /**
-     *  <p>Gets the scanners next line as string </p>
+     * <p>Uses the given line source for inputs. </p>
+     * <p>For large piped inputs use a {@link BufferedLineReader},
+     *  e.g. {@code new JavaInp(new BufferedLineReader(System.in))}.</p>
+     * @param source The line source to use.
+      */
+    public JavaInp(LineSource source){
+        if (source == null) {
+            throw new NullPointerException("source can't be null");
+        }
+        lineSource = source;
+        readsSystemIn = false;
+    }
+    /**
+     * <p>Reads inputs from a file through a {@link MappedLineSource}. </p>
+     * <p>The file is memory mapped instead of copied through stream buffers, which suits large answer files. </p>
+     * @param file The file to read.
+     * @throws IOException if the file can't be opened or mapped
+      */
+    public JavaInp(Path file) throws IOException{
+        this(new MappedLineSource(file));
+    }
+    /**
+     *  <p>Gets the sources next line as string </p>
      * @return User inputed line
       */
     public String getNextLine(){
-        String response = inpScanner.nextLine();
-        return response;
+        output.beforeRead();
+        if (metrics == null) {
+            return lineRead(lineSource.nextLine());
+        }
+        long started = System.nanoTime();
+        String response = lineSource.nextLine();
+        metrics.recordRead(System.nanoTime() - started);
+        return lineRead(response);
+    }
+
+    /**
+     *  <p>Gets the sources next line, without making a String when the source can avoid it </p>
+     * @return User inputed line, only valid until the next line is read
+      */
+    public CharSequence getNextLineView(){
+        output.beforeRead();
+        if (metrics == null) {
+            return lineRead(lineSource.nextLineView());
+        }
+        long started = System.nanoTime();
+        CharSequence response = lineSource.nextLineView();
+        metrics.recordRead(System.nanoTime() - started);
+        return lineRead(response);
+    }
+
+    /**
+     * Gets the sources next line if it has at most {@code maxLength} characters, see {@link LineSource#nextLineView(int)}.
+     * @return the line, only valid until the next line is read, or null if it was longer
+      */
+    private CharSequence getNextLineView(int maxLength){
+        output.beforeRead();
+        long started = (metrics != null)? System.nanoTime() : 0L;
+        CharSequence response = lineSource.nextLineView(maxLength);
+        if (metrics != null) metrics.recordRead(System.nanoTime() - started);
+        return (response == null)? null : lineRead(response);
+    }
+
+    /**
+     * <p>Gets the sources next line, waiting at most {@code timeout} for it. </p>
+     * <p>The first call wraps the source in a {@link TimedLineSource}, a line that comes after its timeout is kept for the next read.
+     * Untimed reads still go straight to the source once no line is pending. </p>
+     * @param timeout longest time to wait
+     * @return User inputed line, or null if none came in time
+      */
+    public String getNextLine(Duration timeout){
+        return getNextLine(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Gets the next line before {@code deadline}, in {@link System#nanoTime()} terms.
+     * @return the line, or null if none came in time
+      */
+    private String getNextLine(long deadline){
+        output.beforeRead();
+        TimedLineSource timed = timedSource();
+        long started = System.nanoTime();
+        String response = timed.nextLine(deadline - started, TimeUnit.NANOSECONDS);
+        if (metrics != null) {
+            if (response == null) metrics.recordTimeout();
+            else metrics.recordRead(System.nanoTime() - started);
+        }
+        return (response == null)? null : lineRead(response);
+    }
+
+    private TimedLineSource timedSource(){
+        if (!(lineSource instanceof TimedLineSource)) {
+            lineSource = new TimedLineSource(lineSource);
+        }
+        return (TimedLineSource) lineSource;
+    }
+
+    private <L extends CharSequence> L lineRead(L line){
+        if (listener != null) listener.lineRead(line);
+        return line;
+    }
+
+    /**
+     * <p>Sets where prompts and error messages are written, {@link PromptSink#systemOut()} by default. </p>
+     * @param sink the sink to write to
+      */
+    public void setOutput(PromptSink sink){
+        if (sink == null) {
+            throw new NullPointerException("sink can't be null");
+        }
+        output.flush();
+        output = sink;
+    }
+
+    /**
+     * @return where prompts and error messages are written
+      */
+    public PromptSink getOutput(){
+        return output;
+    }
+
+    /**
+     * <p>Sets where reads, attempts, rejections and latencies are counted, null turns metrics off (the default). </p>
+     * @param metrics the metrics to record into, may be shared with other instances
+      */
+    public void setMetrics(InputMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return where metrics are recorded, null if off
+      */
+    public InputMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * <p>Sets what is told about every prompt, line read and validation outcome, null for nothing (the default). </p>
+     * @param listener the listener, e.g. a {@link SessionRecorder}
+      */
+    public void setListener(InputListener listener){
+        this.listener = listener;
+    }
+
+    /**
+     * @return the listener, null if none
+      */
+    public InputListener getListener(){
+        return listener;
+    }
+
+    /**
+     * <p>Turns printing of prompts on or off, error messages are still written. </p>
+     * @param suppressed whether to skip prompts
+      */
+    public void setPromptsSuppressed(boolean suppressed){
+        promptsSuppressed = suppressed;
+    }
+
+    /**
+     * @return whether prompts are skipped
+      */
+    public boolean isPromptsSuppressed(){
+        return promptsSuppressed;
+    }
+
+    /**
+     * <p>Opt-in non-interactive mode: skips prompts when this instance reads {@code System.in} and it isn't a terminal,
+     * e.g. when input is piped in. Nothing calls it for you, and {@link #setPromptsSuppressed(boolean)} sets it directly. </p>
+     * <p>Only applies to the {@link #JavaInp()} and {@link #JavaInp(InputStream)} constructors given {@code System.in},
+     * other sources are left as they are. </p>
+     * <p>The check is a Linux-only heuristic, it reads where {@code /proc/self/fd/0} links to.
+     * On other systems, or when it can't be told whether {@code System.in} is a terminal, prompts are kept. </p>
+     * @return whether prompts are now suppressed
+      */
+    public boolean suppressPromptsWhenNotTerminal(){
+        if (readsSystemIn && !stdinMayBeTerminal()) {
+            promptsSuppressed = true;
+        }
+        return promptsSuppressed;
+    }
+
+    /**
+     * Checks whether {@code System.in} may be a terminal. {@link System#console()} is also null when only the output
+     * is redirected, so where it is null the link behind file descriptor 0 is checked, which only Linux has.
+     * @return false only if {@code System.in} is known not to be a terminal
+      */
+    static boolean stdinMayBeTerminal(){
+        return System.console() != null || isTerminal(Paths.get("/proc/self/fd/0"));
+    }
+
+    /**
+     * Checks whether a file descriptor link points to a terminal device.
+     * @param descriptor the link, such as {@code /proc/self/fd/0}
+     * @return false only if it is a link to something other than a terminal
+      */
+    static boolean isTerminal(Path descriptor){
+        try {
+            String target = Files.readSymbolicLink(descriptor).toString();
+            return target.startsWith("/dev/pts/") || target.startsWith("/dev/tty") || target.equals("/dev/console");
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // can't tell
+            return true;
+        }
+    }
+
+    /**
+     * <p>Lazily streams the remaining lines, reading one each time the stream needs it. </p>
+     * <p>Closing the stream doesn't close this instance. For parallel streams of a file use {@link LineStreams#lines(Path, java.nio.charset.Charset)}. </p>
+     * @return the lines
+      */
+    public Stream<String> lines(){
+        return LineStreams.lines(this, lineSource);
+    }
+
+    /**
+     * <p>Lazily streams the remaining lines converted with {@code convert}. </p>
+     * @param <T> The resulting type of the conversion.
+     * @param convert determins how to transform each line to type
+     * @param policy whether rejected lines are skipped or stop the stream
+     * @return the converted values
+      */
+    public <T> Stream<T> values(ConvertToType<T> convert, LineStreams.RejectPolicy policy){
+        return LineStreams.values(lines(), convert, policy);
+    }
+
+    /**
+     * <p>Lazily streams the remaining lines converted to ints, without boxing or making Strings when the source allows it. </p>
+     * @param convert determins how to transform each line to {@code int}
+     * @param policy whether rejected lines are skipped or stop the stream
+     * @return the converted values
+      */
+    public IntStream ints(ConvertToInt convert, LineStreams.RejectPolicy policy){
+        return LineStreams.ints(this, lineSource, convert, policy);
+    }
+
+    /**
+     * <p>Hands the line source to a {@link LineDispatcher}, which validates its lines on {@code workers} threads. </p>
+     * <p>Don't read from this instance while dispatching, closing the dispatcher closes the source. </p>
+     * @param <T> The resulting type of the conversion.
+     * @param validation how each line is checked, its converter must be thread safe
+     * @param handler receives each outcome from the worker threads, must be thread safe
+     * @param workers number of validating threads
+     * @return the running dispatcher
+      */
+    public <T> LineDispatcher<T> dispatch(BatchValidation<T> validation, BatchValidation.Handler<? super T> handler, int workers){
+        output.flush();
+        return LineDispatcher.start(lineSource, validation, handler, workers);
     }
 
     @Override
     public void close(){
-        inpScanner.close();
+        output.flush();
+        lineSource.close();
     }
 
     /**
@@ -183,7 +755,8 @@ public class JavaInp implements AutoCloseable{
      * @return User inputed line
       */
     public String inputln(String Message){
-        System.out.println(Message);
+        if (listener != null) listener.prompted(Message);
+        if (!promptsSuppressed) output.println(Message);
         return getNextLine();
     }
     /**
@@ -200,7 +773,8 @@ public class JavaInp implements AutoCloseable{
      * @return User inputed line
       */
     public String input(String Message){
-        System.out.print(Message);
+        if (listener != null) listener.prompted(Message);
+        if (!promptsSuppressed) output.print(Message);
         return getNextLine();
     }
     /**
@@ -211,20 +785,86 @@ public class JavaInp implements AutoCloseable{
     public String input(){
         return input("");
     }
+    /**
+     * <p>Prints the wanted message, then gets the input if it comes within {@code timeout} </p>
+     * @param Message for the user
+     * @param timeout longest time to wait for the input
+     * @param defaultInp This value will be used if the input doesn't come in time
+     * @return User inputed line, or {@code defaultInp}
+      */
+    public String input(String Message, Duration timeout, String defaultInp){
+        if (listener != null) listener.prompted(Message);
+        if (!promptsSuppressed) output.print(Message);
+        String inp = getNextLine(timeout);
+        return (inp == null)? defaultInp : inp;
+    }
+    /**
+     * <p>Prints the wanted message, then gets the input as a view </p>
+     * @param Message for the user
+     * @return User inputed line, only valid until the next line is read
+      */
+    private CharSequence inputView(String Message){
+        if (listener != null) listener.prompted(Message);
+        if (!promptsSuppressed) output.print(Message);
+        return getNextLineView();
+    }
 
     /**
-     * <p> Checks if {@code ob} is within the array list {@code Arr }.</p>
-     * <p> assumes {@code defaultValue} if the array list is empty.</p>
-     * @param Arr array list to check within
-     * @param ob object to find
+     * <p> Checks if {@code ob} is within the response set {@code Set }.</p>
+     * <p> assumes {@code defaultValue} if the set is empty.</p>
+     * @param Set response set to check within
+     * @param ob input to find
      * @param defaultValue boolean to assume if empty
      * @return whether or not it was {@code ob} was found
       */
-    private boolean foundInList(List<?> Arr, Object ob, boolean defaultValue){
+    static boolean foundInSet(ResponseSet Set, CharSequence ob, boolean defaultValue){
         boolean found = defaultValue;
-        if(!Arr.isEmpty()) found = Arr.contains(ob);
+        if(!Set.isEmpty()) found = Set.contains(ob);
         return found;
     }
+
+    /**
+     * <p> Checks the response lists, valid responses are prioritized over invalid ones.</p>
+     * @param inp the users input
+     * @param validResponses set of valid responses, anything is valid when empty
+     * @param invalidResponses set of invalid responses
+     * @return whether the input is allowed by the sets
+      */
+    static boolean responseAllowed(CharSequence inp, ResponseSet validResponses, ResponseSet invalidResponses){
+        boolean isValid = !foundInSet(invalidResponses, inp, false); // check if in set, return false if empty or not contained
+        return foundInSet(validResponses, inp, isValid); // check if in set, return true if empty or contained
+    }
+
+    /**
+     * Checks the response sets like {@link #responseAllowed(CharSequence, ResponseSet, ResponseSet)}, counting the attempt when metrics are on.
+      */
+    private boolean checkResponse(CharSequence inp, ResponseSet validResponses, ResponseSet invalidResponses){
+        boolean allowed = responseAllowed(inp, validResponses, invalidResponses);
+        if (metrics != null) {
+            metrics.recordAttempt(allowed, !validResponses.isEmpty());
+        }
+        return allowed;
+    }
+
+    /**
+     * @return the time a conversion starts, only read when metrics are on
+      */
+    private long conversionStart(){
+        return (metrics != null)? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a conversion when metrics are on.
+     * @param convert the converter used
+     * @param started from {@link #conversionStart()}
+     * @param allowed whether the response sets allowed the input
+     * @param converted whether the converter accepted it
+      */
+    private void conversionEnd(Object convert, long started, boolean allowed, boolean converted){
+        if (metrics != null) {
+            metrics.recordConversion(convert.getClass(), System.nanoTime() - started, allowed && !converted);
+        }
+    }
     
     /**
      * Invalidates a user input for use in {@link JavaInp#validateInput(String, String, ConvertToType, List, List , int , T)}}
@@ -256,8 +896,53 @@ public class JavaInp implements AutoCloseable{
       */
     protected void onInvalidInput(InvalidInputException e){}
 
+    /**
+     * Passes a rejected conversion to {@link #onInvalidInput(InvalidInputException)}.
+     * An exception is only made for it when a subclass overrides the method.
+     * @param inp the rejected input
+     * @param result the rejected result
+      */
+    private void invalidConversion(CharSequence inp, ConvertResult<?> result){
+        Throwable cause = result.getCause();
+        result.reset();
+        if (cause instanceof InvalidInputException) {
+            onInvalidInput((InvalidInputException) cause);
+        }
+        else if (invalidInputHooked) {
+            onInvalidInput(InvalidInputException.stackless(inp.toString()));
+        }
+    }
+
+    /**
+     * Gets the reused result for conversions, validateInput isn't reentrant so one is enough.
+     * @param <T> type of the conversion
+     * @return the shared result
+      */
+    @SuppressWarnings("unchecked")
+    private <T> ConvertResult<T> reusedResult(){
+        return (ConvertResult<T>) scratchResult;
+    }
+
+    /** Whether a class overrides {@link #onInvalidInput(InvalidInputException)}.  */
+    private static final ClassValue<Boolean> HOOKS_INVALID_INPUT = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != JavaInp.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("onInvalidInput", InvalidInputException.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    // keep looking in the superclass
+                }
+            }
+            return false;
+        }
+    };
+
     /**
      *  <p> Automatically validates users input</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param <T> Type of input to return
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
@@ -272,51 +957,173 @@ public class JavaInp implements AutoCloseable{
       */
     public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, 
                                             List<String> validResponses, List<String> invalidResponses, int AskLimit, T defaultInp){
-        
-        // no null pointer exections in my house!
-        Message = ( (Message == null )?   "" : Message);
-        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
-        ArrayList<String> emptyList = new ArrayList<String>();
-        validResponses = ( (validResponses == null )?   emptyList : validResponses);
-        invalidResponses = ( (invalidResponses == null )?   emptyList : invalidResponses);
+
+        return validateInput(new Validator<>(Message, errorMessage, convert, ResponseSet.ofList(validResponses), ResponseSet.ofList(invalidResponses),
+                                             AskLimit, defaultInp, null, null));
+    }
+
+    /**
+     *  <p> Automatically validates users input against precompiled response sets</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to type
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *  
+     * @return the validated user input
+      */
+    public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, 
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, T defaultInp){
+        return validateInput(new Validator<>(Message, errorMessage, convert, validResponses, invalidResponses, AskLimit, defaultInp, null, null));
+    }
+
+    /**
+     *  <p> Automatically validates users input, giving up after a per attempt timeout or an overall deadline</p>
+     *  <p> An attempt with no answer in time counts towards {@code AskLimit} and asks again without an error message.
+     *  Once the deadline passes, or the thread is interrupted, {@code defaultInp} is returned like when the ask limit is surpased.
+     *  An answer that comes too late is kept for the next read, see {@link TimedLineSource}.</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to type
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit or deadline is surpased
+     * @param attemptTimeout longest wait for each answer, null for no limit
+     * @param deadline longest time for the whole validation, null for no limit
+     *  
+     * @return the validated user input
+      */
+    public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, ResponseSet validResponses,
+                                ResponseSet invalidResponses, int AskLimit, T defaultInp, Duration attemptTimeout, Duration deadline){
+        return validateInput(new Validator<>(Message, errorMessage, convert, validResponses, invalidResponses, AskLimit, defaultInp,
+                                             attemptTimeout, deadline));
+    }
+
+    /**
+     *  <p> Asks a compiled question until it gets a valid answer, the ask limit is reached or the deadline passes</p>
+     *  <p> Every other {@code validateInput} overload ends up here, build a {@link Validator} once to skip their setup.</p>
+     * @param <T> Type of input to return
+     * @param validator the question
+     *  
+     * @return the validated user input, or the validators default
+      */
+    public <T> T validateInput(Validator<T> validator){
+        String Message = validator.message;
+        String errorMessage = validator.errorMessage;
+        ConvertToType<T> convert = validator.convert;
+        ResponseSet validResponses = validator.validResponses;
+        ResponseSet invalidResponses = validator.invalidResponses;
+        int AskLimit = validator.askLimit;
+        T defaultInp = validator.defaultValue;
 
         T FinalAns = defaultInp;
+        ConvertResult<T> result = reusedResult();
+        if (metrics != null) metrics.recordValidation();
        
+        boolean timed = validator.timed;
+        long started = timed? System.nanoTime() : 0L;
+        long attemptNanos = validator.attemptNanos;
+        long deadlineNanos = validator.deadlineNanos;
+
         int runs = 0;
         boolean isValid = false;
         while ( (runs < AskLimit || AskLimit <= 0) && isValid == false) {
-            String inp = input(Message);
+            CharSequence inp;
+            if (timed) {
+                long elapsed = System.nanoTime() - started;
+                if (elapsed >= deadlineNanos || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                long attemptEnd = (attemptNanos >= deadlineNanos - elapsed)? deadlineNanos : elapsed + attemptNanos;
+                inp = timedInput(Message, started + attemptEnd);
+                if (inp == null) {
+                    // no answer in time, ask again
+                    runs ++;
+                    continue;
+                }
+            }
+            else {
+                // canonical answers are looked up from the view, so known ones never become a String
+                inp = validator.canonical? inputView(Message) : input(Message);
+            }
             
             // assume it's fine unless proven false
-            isValid = true;
-            
-            isValid = !foundInList(invalidResponses, inp, false); // check if in array, return false if empty or not contained
-            isValid = foundInList(validResponses, inp, isValid); // check if in array, return true if empty or contained
+            isValid = checkResponse(inp, validResponses, invalidResponses);
 
             // try to convert
-            try{
-                
-                FinalAns = convert.Transform(inp);
-                
+            boolean converted;
+            if (validator.canonical) {
+                // a lookup that never runs the converter, so it isn't recorded as one of its conversions
+                converted = !isValid || result.accept(validator.canonical(inp, metrics));
+            }
+            else {
+                long conversionStarted = conversionStart();
+                converted = convert.TryTransform(inp.toString(), result);
+                conversionEnd(convert, conversionStarted, isValid, converted);
             }
-            catch( InvalidInputException e){
-                onInvalidInput(e);
+            if (converted) {
+                FinalAns = result.getValue();
+            }
+            else {
+                invalidConversion(inp, result);
                 isValid = false;
             }
 
+            if (listener != null) listener.validated(isValid);
             if (!isValid) {
-                System.out.println(errorMessage);
+                output.println(errorMessage);
                 FinalAns = defaultInp;
             }
             
             runs ++;
         }
+        result.reset();
+        if (!isValid && metrics != null) metrics.recordDefault();
 
         return FinalAns;
     }
 
+    /**
+     *  <p> Automatically validates users input, giving up after a per attempt timeout or an overall deadline</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to type
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit or deadline is surpased
+     * @param attemptTimeout longest wait for each answer, null for no limit
+     * @param deadline longest time for the whole validation, null for no limit
+     *  
+     * @return the validated user input
+      */
+    public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, int AskLimit, T defaultInp,
+                                Duration attemptTimeout, Duration deadline){
+        return validateInput(new Validator<>(Message, errorMessage, convert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp,
+                                             attemptTimeout, deadline));
+    }
+
+    /**
+     * Prints the wanted message, then gets the input if it comes before {@code deadline}.
+     * @return the line, or null if none came in time
+      */
+    private String timedInput(String Message, long deadline){
+        if (listener != null) listener.prompted(Message);
+        if (!promptsSuppressed) output.print(Message);
+        return getNextLine(deadline);
+    }
+
     /**
      *  <p> Automatically validates users input</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param <T> Type of input to return
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
@@ -327,13 +1134,13 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public <T> T validateInput(String Message, String errorMessage,  ConvertToType<T> convert, List<String> validResponses, List<String> invalidResponses){
-        int AskLimit = 0;
-         
-        return validateInput(Message, errorMessage, convert, validResponses, invalidResponses, AskLimit, null);
+        return validateInput(Message, errorMessage, convert, validResponses, invalidResponses, 0, null);
     }
 
     /**
      *  <p> Automatically validates users input</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param <T> Type of input to return
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
@@ -346,13 +1153,13 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, List<String> validResp, int AskLimit, T defaultInp){
-        ArrayList<String> validInps = new ArrayList<String>();
-        
-        return validateInput(Message, errorMessage, convert, validResp, validInps, AskLimit, defaultInp);
+        return validateInput(new Validator<>(Message, errorMessage, convert, ResponseSet.ofList(validResp), ResponseSet.EMPTY, AskLimit, defaultInp, null, null));
     }
 
     /**
      *  <p> Automatically validates users input</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param <T> Type of input to return
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
@@ -362,10 +1169,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, List<String> validResp){
-        ArrayList<String> validInps = new ArrayList<String>();
-    
-        
-        return validateInput(Message, errorMessage, convert, validResp, validInps, 0, null);
+        return validateInput(Message, errorMessage, convert, validResp, 0, null);
     }
     /**
      *  <p> Automatically validates users input</p>
@@ -380,9 +1184,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public <T> T validateInput(String Message, String errorMessage, ConvertToType<T> convert, int AskLimit, T defaultInp){
-        ArrayList<String> validInps = new ArrayList<String>();
-        
-        return validateInput(Message, errorMessage, convert, validInps, AskLimit, defaultInp);
+        return validateInput(new Validator<>(Message, errorMessage, convert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp, null, null));
     }
     
     /**
@@ -395,9 +1197,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public <T> T validateInput(String Message, String errorMessage,  ConvertToType<T> convert){
-        int AskLimit = 0;
-         
-        return validateInput(Message, errorMessage, convert, AskLimit, null);
+        return validateInput(Message, errorMessage, convert, 0, null);
     }
 
     /**
@@ -415,6 +1215,8 @@ public class JavaInp implements AutoCloseable{
 
     /**
      *  <p> Automatically validates users input when that input is string</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
      * @param validResponses array list of valid responses for the user
@@ -428,13 +1230,13 @@ public class JavaInp implements AutoCloseable{
     public String validateInput(String Message, String errorMessage, 
                                             List<String> validResponses, List<String> invalidResponses, int AskLimit, String defaultInp){
 
-        String inp = validateInput(Message, errorMessage, StringConvert, validResponses, invalidResponses, AskLimit, defaultInp);
-
-        return inp;
+        return validateInput(Message, errorMessage, StringConvert, validResponses, invalidResponses, AskLimit, defaultInp);
     }
 
     /**
      *  <p> Automatically validates users input when that input is string</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
      * @param validResp array list of valid responses for the user
@@ -449,6 +1251,8 @@ public class JavaInp implements AutoCloseable{
 
     /**
      *  <p> Automatically validates users input when that input is string</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, a {@link Validator} or {@link ResponseSet}s compiled once are faster.</p>
      * @param Message message shown to the user before input
      * @param errorMessage message shown if invalid input
      * @param validResp array list of valid responses for the user
@@ -459,9 +1263,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public String validateInput(String Message, String errorMessage, List<String> validResp, int AskLimit, String defaultInp){
-        ArrayList<String> validInps = new ArrayList<String>();
-        
-        return validateInput(Message, errorMessage, validResp, validInps, AskLimit, defaultInp);
+        return validateInput(Message, errorMessage, StringConvert, validResp, AskLimit, defaultInp);
     }
 
     /**
@@ -475,9 +1277,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public String validateInput(String Message, String errorMessage, int AskLimit, String defaultInp){
-        ArrayList<String> validInps = new ArrayList<String>();
-        
-        return validateInput(Message, errorMessage, validInps, validInps, AskLimit, defaultInp);
+        return validateInput(Message, errorMessage, StringConvert, AskLimit, defaultInp);
     }
 
     /**
@@ -488,9 +1288,7 @@ public class JavaInp implements AutoCloseable{
      * @return the validated user input
       */
     public String validateInput(String Message, String errorMessage){
-        int AskLimit = 0;
-         
-        return validateInput(Message, errorMessage, AskLimit, null);
+        return validateInput(Message, errorMessage, 0, null);
     }
     /**
      *  <p> Automatically validates users input when that input is string</p>
@@ -502,4 +1300,653 @@ public class JavaInp implements AutoCloseable{
          
         return validateInput(Message, StandardErrorMsg);
     }
+
+    /**
+     *  <p> Automatically validates users input as {@code int}, without boxing the value or default</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, {@link ResponseSet}s compiled once and the {@link ResponseSet} overload are faster.</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code int}
+     * @param validResponses list of valid responses for the user
+     * @param invalidResponses list of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public int validateInt(String Message, String errorMessage, ConvertToInt convert,
+                                            List<String> validResponses, List<String> invalidResponses, int AskLimit, int defaultInp){
+
+        return validateInt(Message, errorMessage, convert, ResponseSet.ofList(validResponses), ResponseSet.ofList(invalidResponses), AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code int} against precompiled response sets</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code int}
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public int validateInt(String Message, String errorMessage, ConvertToInt convert,
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, int defaultInp){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+        validResponses = ( (validResponses == null )?   ResponseSet.EMPTY : validResponses);
+        invalidResponses = ( (invalidResponses == null )?   ResponseSet.EMPTY : invalidResponses);
+
+        if (metrics != null) metrics.recordValidation();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            CharSequence inp = inputView(Message);
+            boolean isValid = checkResponse(inp, validResponses, invalidResponses);
+
+            long started = conversionStart();
+            boolean converted = convert.TryTransformInt(inp, 0, inp.length(), scratchResult);
+            conversionEnd(convert, started, isValid, converted);
+            if (converted) {
+                if (isValid) {
+                    if (listener != null) listener.validated(true);
+                    return scratchResult.getInt();
+                }
+            }
+            else {
+                invalidConversion(inp, scratchResult);
+            }
+            if (listener != null) listener.validated(false);
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return defaultInp;
+    }
+
+    /**
+     *  <p> Automatically validates users input with {@link #IntPrimitiveConvert}</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param AskLimit number of times to ask for input
+     *  limits number of times to ask for imput when above 0
+     *  @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public int validateInt(String Message, String errorMessage, int AskLimit, int defaultInp){
+
+        return validateInt(Message, errorMessage, IntPrimitiveConvert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code long}, without boxing the value or default</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, {@link ResponseSet}s compiled once and the {@link ResponseSet} overload are faster.</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code long}
+     * @param validResponses list of valid responses for the user
+     * @param invalidResponses list of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public long validateLong(String Message, String errorMessage, ConvertToLong convert,
+                                            List<String> validResponses, List<String> invalidResponses, int AskLimit, long defaultInp){
+
+        return validateLong(Message, errorMessage, convert, ResponseSet.ofList(validResponses), ResponseSet.ofList(invalidResponses), AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code long} against precompiled response sets</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code long}
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public long validateLong(String Message, String errorMessage, ConvertToLong convert,
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, long defaultInp){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+        validResponses = ( (validResponses == null )?   ResponseSet.EMPTY : validResponses);
+        invalidResponses = ( (invalidResponses == null )?   ResponseSet.EMPTY : invalidResponses);
+
+        if (metrics != null) metrics.recordValidation();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            CharSequence inp = inputView(Message);
+            boolean isValid = checkResponse(inp, validResponses, invalidResponses);
+
+            long started = conversionStart();
+            boolean converted = convert.TryTransformLong(inp, 0, inp.length(), scratchResult);
+            conversionEnd(convert, started, isValid, converted);
+            if (converted) {
+                if (isValid) {
+                    if (listener != null) listener.validated(true);
+                    return scratchResult.getLong();
+                }
+            }
+            else {
+                invalidConversion(inp, scratchResult);
+            }
+            if (listener != null) listener.validated(false);
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return defaultInp;
+    }
+
+    /**
+     *  <p> Automatically validates users input with {@link #LongPrimitiveConvert}</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param AskLimit number of times to ask for input
+     *  limits number of times to ask for imput when above 0
+     *  @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public long validateLong(String Message, String errorMessage, int AskLimit, long defaultInp){
+
+        return validateLong(Message, errorMessage, LongPrimitiveConvert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code double}, without boxing the value or default</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, {@link ResponseSet}s compiled once and the {@link ResponseSet} overload are faster.</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code double}
+     * @param validResponses list of valid responses for the user
+     * @param invalidResponses list of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public double validateDouble(String Message, String errorMessage, ConvertToDouble convert,
+                                            List<String> validResponses, List<String> invalidResponses, int AskLimit, double defaultInp){
+
+        return validateDouble(Message, errorMessage, convert, ResponseSet.ofList(validResponses), ResponseSet.ofList(invalidResponses), AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code double} against precompiled response sets</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code double}
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public double validateDouble(String Message, String errorMessage, ConvertToDouble convert,
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, double defaultInp){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+        validResponses = ( (validResponses == null )?   ResponseSet.EMPTY : validResponses);
+        invalidResponses = ( (invalidResponses == null )?   ResponseSet.EMPTY : invalidResponses);
+
+        if (metrics != null) metrics.recordValidation();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            CharSequence inp = inputView(Message);
+            boolean isValid = checkResponse(inp, validResponses, invalidResponses);
+
+            long started = conversionStart();
+            boolean converted = convert.TryTransformDouble(inp, 0, inp.length(), scratchResult);
+            conversionEnd(convert, started, isValid, converted);
+            if (converted) {
+                if (isValid) {
+                    if (listener != null) listener.validated(true);
+                    return scratchResult.getDouble();
+                }
+            }
+            else {
+                invalidConversion(inp, scratchResult);
+            }
+            if (listener != null) listener.validated(false);
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return defaultInp;
+    }
+
+    /**
+     *  <p> Automatically validates users input with {@link #DoublePrimitiveConvert}</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param AskLimit number of times to ask for input
+     *  limits number of times to ask for imput when above 0
+     *  @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public double validateDouble(String Message, String errorMessage, int AskLimit, double defaultInp){
+
+        return validateDouble(Message, errorMessage, DoublePrimitiveConvert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code boolean}, without boxing the value or default</p>
+     *  <p> Checks the lists directly, large ones are only compiled if the user has to be asked again.
+     *  For large lists or prompts asked often, {@link ResponseSet}s compiled once and the {@link ResponseSet} overload are faster.</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code boolean}
+     * @param validResponses list of valid responses for the user
+     * @param invalidResponses list of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public boolean validateBoolean(String Message, String errorMessage, ConvertToBoolean convert,
+                                            List<String> validResponses, List<String> invalidResponses, int AskLimit, boolean defaultInp){
+
+        return validateBoolean(Message, errorMessage, convert, ResponseSet.ofList(validResponses), ResponseSet.ofList(invalidResponses), AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates users input as {@code boolean} against precompiled response sets</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to {@code boolean}
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public boolean validateBoolean(String Message, String errorMessage, ConvertToBoolean convert,
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, boolean defaultInp){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+        validResponses = ( (validResponses == null )?   ResponseSet.EMPTY : validResponses);
+        invalidResponses = ( (invalidResponses == null )?   ResponseSet.EMPTY : invalidResponses);
+
+        if (metrics != null) metrics.recordValidation();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            CharSequence inp = inputView(Message);
+            boolean isValid = checkResponse(inp, validResponses, invalidResponses);
+
+            long started = conversionStart();
+            boolean converted = convert.TryTransformBoolean(inp, 0, inp.length(), scratchResult);
+            conversionEnd(convert, started, isValid, converted);
+            if (converted) {
+                if (isValid) {
+                    if (listener != null) listener.validated(true);
+                    return scratchResult.getBoolean();
+                }
+            }
+            else {
+                invalidConversion(inp, scratchResult);
+            }
+            if (listener != null) listener.validated(false);
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return defaultInp;
+    }
+
+    /**
+     *  <p> Automatically validates users input with {@link #BooleanPrimitiveConvert}</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param AskLimit number of times to ask for input
+     *  limits number of times to ask for imput when above 0
+     *  @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated user input
+      */
+    public boolean validateBoolean(String Message, String errorMessage, int AskLimit, boolean defaultInp){
+
+        return validateBoolean(Message, errorMessage, BooleanPrimitiveConvert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates a line of delimited fields, parsed in one pass into {@code row}</p>
+     *  <p> The row tells which field was invalid after a rejected line, see {@link RecordSchema.Row#getInvalidField()}.</p>
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param schema the delimiter and converter of each field
+     * @param row where the fields go, from {@link RecordSchema#newRow()}
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     *
+     * @return whether a valid record was read, false if the ask limit was surpased
+      */
+    public boolean validateRecord(String Message, String errorMessage, RecordSchema schema, RecordSchema.Row row, int AskLimit){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+
+        if (metrics != null) metrics.recordValidation();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            CharSequence inp = inputView(Message);
+            checkResponse(inp, ResponseSet.EMPTY, ResponseSet.EMPTY);
+
+            long started = conversionStart();
+            boolean converted = schema.parse(inp, row);
+            conversionEnd(schema, started, true, converted);
+            if (listener != null) listener.validated(converted);
+            if (converted) {
+                return true;
+            }
+            if (invalidInputHooked) {
+                onInvalidInput(InvalidInputException.stackless(inp.toString()));
+            }
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return false;
+    }
+
+    /**
+     *  <p> Automatically validates a multi-line block, converted line by line as it is read</p>
+     *  <p> A block over its limits, or one {@code convert} rejects, is read to its terminator without being kept and counts as an invalid answer.
+     *  See {@link BlockInput}.</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before the block
+     * @param errorMessage message shown if invalid input
+     * @param block the terminator and limits of the block
+     * @param convert determins how to transform the blocks lines to type
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated block
+      */
+    public <T> T validateBlock(String Message, String errorMessage, BlockInput block, BlockInput.LineConvert<T> convert,
+                                int AskLimit, T defaultInp){
+        return validateBlock(Message, errorMessage, block, convert, convert, AskLimit, defaultInp);
+    }
+
+    /**
+     *  <p> Automatically validates a multi-line block, converted as a whole once it ends</p>
+     *  <p> The blocks lines are joined with {@code \n} in one buffer, a block over its limits is rejected before it reaches {@code convert}.
+     *  See {@link BlockInput}.</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before the block
+     * @param errorMessage message shown if invalid input
+     * @param block the terminator and limits of the block
+     * @param convert determins how to transform the block to type
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return the validated block
+      */
+    public <T> T validateBlock(String Message, String errorMessage, BlockInput block, ConvertToType<T> convert,
+                                int AskLimit, T defaultInp){
+        return validateBlock(Message, errorMessage, block, BlockInput.collecting(convert), convert, AskLimit, defaultInp);
+    }
+
+    /**
+     * <p>Prints the wanted message, then gets a multi-line block </p>
+     * @param Message for the user
+     * @param block the terminator and limits of the block
+     * @return the blocks lines joined with {@code \n}, or null if it was over its limits
+      */
+    public String inputBlock(String Message, BlockInput block){
+        return validateBlock(Message, "", block, StringConvert, 1, null);
+    }
+
+    /**
+     * The block validation loop.
+     * @param counted the converter metrics are recorded under
+      */
+    private <T> T validateBlock(String Message, String errorMessage, BlockInput block, BlockInput.LineConvert<T> convert,
+                                 Object counted, int AskLimit, T defaultInp){
+
+        Message = ( (Message == null )?   "" : Message);
+        errorMessage = ( (errorMessage == null )?   "" : errorMessage);
+
+        if (metrics != null) metrics.recordValidation();
+        ConvertResult<T> result = reusedResult();
+
+        int runs = 0;
+        while (runs < AskLimit || AskLimit <= 0) {
+            if (listener != null) listener.prompted(Message);
+            if (!promptsSuppressed) output.print(Message);
+
+            int read = readBlock(block, convert);
+            if (metrics != null) metrics.recordAttempt(true, false);
+
+            boolean converted = false;
+            if (read == BLOCK_READ) {
+                long started = conversionStart();
+                converted = convert.finish(result);
+                if (metrics != null) blockConvertNanos += System.nanoTime() - started;
+            }
+            if (metrics != null && (read == BLOCK_READ || read == BLOCK_REJECTED)) {
+                // only time spent in the converter, not waiting for the lines
+                metrics.recordConversion(counted.getClass(), blockConvertNanos, !converted);
+            }
+            if (listener != null) listener.validated(converted);
+            if (converted) {
+                T value = result.getValue();
+                result.reset();
+                return value;
+            }
+            if (invalidInputHooked) {
+                invalidBlock(read, block, result);
+            }
+            else {
+                result.reset();
+            }
+            output.println(errorMessage);
+            runs ++;
+        }
+
+        if (metrics != null) metrics.recordDefault();
+        return defaultInp;
+    }
+
+    /** Results of {@link #readBlock(BlockInput, BlockInput.LineConvert)}.  */
+    private final static int BLOCK_READ = 0;
+    private final static int BLOCK_REJECTED = 1;
+    private final static int BLOCK_OVER_CHARS = 2;
+    private final static int BLOCK_OVER_LINES = 3;
+    /** Most characters of a block kept for {@link #onInvalidInput(InvalidInputException)}.  */
+    private final static int BLOCK_START_CHARS = 80;
+    /** Start of the current block, only kept when {@link #onInvalidInput(InvalidInputException)} is overridden.  */
+    private final StringBuilder blockStart = new StringBuilder();
+    /** Time spent in the converter of the current block, only kept when metrics are on.  */
+    private long blockConvertNanos;
+    /** Line the converter rejected the current block at.  */
+    private int blockRejectedLine;
+
+    /**
+     * <p>Reads lines up to the blocks terminator or the end of input, passing them to {@code convert} while the block is within its limits. </p>
+     * <p>Lines are read with {@link LineSource#nextLineView(int)}, keeping no more than the block has room for,
+     * so once the block is over its limits or rejected the rest of it is dropped as it is read.
+     * Dropped lines aren't passed to the listener. </p>
+     * @return {@code BLOCK_READ} if every line was taken, otherwise why the block was rejected
+      */
+    private int readBlock(BlockInput block, BlockInput.LineConvert<?> convert){
+        blockConvertNanos = 0;
+        blockStart.setLength(0);
+        convert.start();
+        int read = BLOCK_READ;
+        int terminatorLength = block.getTerminator().length();
+        long chars = 0;
+        int lines = 0;
+        while (true) {
+            int separator = (lines > 0)? 1 : 0;
+            long room = (read == BLOCK_READ)? block.getMaxChars() - chars - separator : 0;
+            // enough to still see the terminator
+            int maxLength = (int) Math.max(room, terminatorLength);
+            // the first read throws at the end of input, like the other methods
+            CharSequence line = getNextLineView(maxLength);
+            if (line != null && block.isTerminator(line)) {
+                break;
+            }
+            lines ++;
+            if (read == BLOCK_READ) {
+                if (line == null || line.length() > room) {
+                    read = BLOCK_OVER_CHARS;
+                }
+                else if (lines > block.getMaxLines()) {
+                    read = BLOCK_OVER_LINES;
+                }
+                else {
+                    chars += separator + line.length();
+                    if (invalidInputHooked) keepBlockStart(line, separator);
+                    if (!blockLine(convert, line)) {
+                        read = BLOCK_REJECTED;
+                        blockRejectedLine = lines;
+                    }
+                }
+            }
+            if (!lineSource.hasNextLine()) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Adds to the start of the block kept for the hook, up to {@link #BLOCK_START_CHARS}.
+      */
+    private void keepBlockStart(CharSequence line, int separator){
+        int room = BLOCK_START_CHARS - blockStart.length();
+        if (room <= 0) {
+            return;
+        }
+        if (separator > 0) {
+            blockStart.append('\n');
+            room --;
+        }
+        blockStart.append(line, 0, Math.min(room, line.length()));
+    }
+
+    /**
+     * <p>Tells {@link #onInvalidInput(InvalidInputException)} about a rejected block. </p>
+     * <p>The errored input is the start of the block, as much of it as was kept within its limits.
+     * Why the block was rejected is the cause, unless the converter gave one of its own. </p>
+     * @param read how {@link #readBlock(BlockInput, BlockInput.LineConvert)} ended
+      */
+    private void invalidBlock(int read, BlockInput block, ConvertResult<?> result){
+        Throwable cause = result.getCause();
+        result.reset();
+        if (cause instanceof InvalidInputException) {
+            onInvalidInput((InvalidInputException) cause);
+            return;
+        }
+        if (cause == null) {
+            String reason;
+            switch (read) {
+                case BLOCK_READ:
+                    reason = "Block rejected by its converter";
+                    break;
+                case BLOCK_REJECTED:
+                    reason = "Block rejected by its converter at line " + blockRejectedLine;
+                    break;
+                case BLOCK_OVER_CHARS:
+                    reason = "Block over its limit of " + block.getMaxChars() + " characters";
+                    break;
+                default:
+                    reason = "Block over its limit of " + block.getMaxLines() + " lines";
+            }
+            cause = new IllegalArgumentException(reason);
+        }
+        onInvalidInput(new InvalidInputException(blockStart.toString(), cause, false));
+    }
+
+    /**
+     * Passes a line to a blocks converter, timing it when metrics are on.
+      */
+    private boolean blockLine(BlockInput.LineConvert<?> convert, CharSequence line){
+        if (metrics == null) {
+            return convert.line(line);
+        }
+        long started = System.nanoTime();
+        boolean took = convert.line(line);
+        blockConvertNanos += System.nanoTime() - started;
+        return took;
+    }
+
+    /**
+     *  <p> Validates users input on another thread, so the caller isn't blocked while waiting for the line</p>
+     *  <p> Calls on the same {@code JavaInp} must not overlap, chain them with {@code thenCompose} instead.
+     *  For many concurrent sessions use a {@link SessionRunner}.</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to type
+     * @param validResponses set of valid responses for the user
+     * @param invalidResponses set of invalid responses for the user
+     * @param AskLimit number of times to ask for input,
+     *  limits number of times to ask for imput when above 0
+     * @param defaultInp This value will be used if the ask limit is surpased
+     * @param executor runs the blocking validation
+     *
+     * @return completes with the validated user input
+      */
+    public <T> CompletableFuture<T> validateInputAsync(String Message, String errorMessage, ConvertToType<T> convert,
+                                            ResponseSet validResponses, ResponseSet invalidResponses, int AskLimit, T defaultInp, Executor executor){
+
+        return CompletableFuture.supplyAsync(
+            () -> validateInput(Message, errorMessage, convert, validResponses, invalidResponses, AskLimit, defaultInp), executor);
+    }
+
+    /**
+     *  <p> Validates users input on a shared executor, virtual threads when the JVM has them</p>
+     * @param <T> Type of input to return
+     * @param Message message shown to the user before input
+     * @param errorMessage message shown if invalid input
+     * @param convert determins how to transform user input to type
+     * @param AskLimit number of times to ask for input
+     *  limits number of times to ask for imput when above 0
+     *  @param defaultInp This value will be used if the ask limit is surpased
+     *
+     * @return completes with the validated user input
+      */
+    public <T> CompletableFuture<T> validateInputAsync(String Message, String errorMessage, ConvertToType<T> convert, int AskLimit, T defaultInp){
+
+        return validateInputAsync(Message, errorMessage, convert, ResponseSet.EMPTY, ResponseSet.EMPTY, AskLimit, defaultInp,
+            SessionRunner.defaultExecutor());
+    }
 }
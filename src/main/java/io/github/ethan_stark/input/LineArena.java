@@ -0,0 +1,327 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+
+/**
+ * <p>A line source for bulk input that keeps lines off the heap. </p>
+ * <p>Input is read in batches into one direct memory segment, and the lines of a batch are indexed in place.
+ * {@link #nextLineView()} gives each line as a reused view over the segment, which the primitive converters,
+ * response sets and {@link RecordSchema} read without a String. A String is only decoded when one is asked for,
+ * through {@link #nextLine()} or the view's {@code toString()}. </p>
+ * <p>When every line of a batch has been read, the batch is released and the segment is reused for the next one,
+ * so reading allocates nothing per line or per batch. The segment only grows for a line longer than it,
+ * {@link #nextLineView(int)} drops a line over its limit instead of growing for it. </p>
+ * <p>Lines end at {@code \n}, {@code \r\n} or a lone {@code \r}, like {@link BufferedLineReader}. Like it,
+ * an {@link IOException} is treated as the end of input and can be checked with {@link #ioException()}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class LineArena implements LineSource {
+
+    /** Default segment size in bytes.  */
+    public final static int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteLineView view;
+    private final int maxBytesPerChar;
+    private ByteBuffer segment;
+    /** Bytes of the segment holding input.  */
+    private int dataEnd = 0;
+    /** Start of the bytes after the current batch, a line that wasn't complete yet.  */
+    private int unindexed = 0;
+    private boolean endOfInput = false;
+    private IOException lastException;
+
+    private int[] starts = new int[256];
+    private int[] lengths = new int[256];
+    private boolean[] ascii = new boolean[256];
+    private int batchSize = 0;
+    private int batchIndex = 0;
+    private long batches = 0;
+    /** Whether the last {@link #readBatch(long)} stopped to drop a line over its limit.  */
+    private boolean droppedLine = false;
+
+    /**
+     * Reads a file, straight into the segment.
+     * @param file the file to read
+     * @param charset charset of the file, {@code \n} and {@code \r} must be single ASCII bytes in it
+     * @throws IOException if the file can't be opened
+      */
+    public LineArena(Path file, Charset charset) throws IOException{
+        this(FileChannel.open(file, StandardOpenOption.READ), charset, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Reads a stream.
+     * @param stream the stream to read
+     * @param charset charset of the stream, {@code \n} and {@code \r} must be single ASCII bytes in it
+      */
+    public LineArena(InputStream stream, Charset charset){
+        this(Channels.newChannel(stream), charset, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Reads a channel with the given segment size.
+     * @param channel the channel to read, closed by {@link #close()}
+     * @param charset charset of the channel, {@code \n} and {@code \r} must be single ASCII bytes in it
+     * @param segmentSize bytes read per batch, the segment grows for longer lines
+      */
+    public LineArena(ReadableByteChannel channel, Charset charset, int segmentSize){
+        if (channel == null || charset == null) {
+            throw new NullPointerException("channel and charset can't be null");
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be above 0, was " + segmentSize);
+        }
+        if (!BufferedLineReader.isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Line ends can't be found by byte in " + charset);
+        }
+        this.channel = channel;
+        this.view = new ByteLineView(charset);
+        this.maxBytesPerChar = (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+        this.segment = ByteBuffer.allocateDirect(segmentSize);
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        return batchIndex < batchSize || readBatch(Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the next line as a view over the segment.
+     * @return the next line, only valid until the next line is read or checked for
+     * @throws NoSuchElementException if there are no lines left
+      */
+    @Override
+    public CharSequence nextLineView(){
+        if (!hasNextLine()) {
+            throw new NoSuchElementException("No line found");
+        }
+        int i = batchIndex ++;
+        return view.set(segment, starts[i], lengths[i], ascii[i]);
+    }
+
+    /**
+     * Gets the next line as a view if it has at most {@code maxLength} characters,
+     * a longer line is dropped as it is read so the segment never grows much past {@code maxLength} characters for it.
+     * @param maxLength most characters to keep
+     * @return the next line, only valid until the next line is read or checked for, or null if it was longer
+     * @throws NoSuchElementException if there are no lines left
+      */
+    @Override
+    public CharSequence nextLineView(int maxLength){
+        if (batchIndex == batchSize && !readBatch((long) maxLength * maxBytesPerChar)) {
+            if (droppedLine) {
+                droppedLine = false;
+                return null;
+            }
+            throw new NoSuchElementException("No line found");
+        }
+        int i = batchIndex ++;
+        CharSequence line = view.set(segment, starts[i], lengths[i], ascii[i]);
+        return (line.length() <= maxLength)? line : null;
+    }
+
+    @Override
+    public String nextLine(){
+        return nextLineView().toString();
+    }
+
+    /**
+     * Releases the finished batch and reads the next one into the segment.
+     * @param maxBytes longest incomplete line the segment grows for, a longer one is dropped
+     * @return false if there are no lines left, or a line was dropped
+      */
+    private boolean readBatch(long maxBytes){
+        if (segment == null) {
+            throw new IllegalStateException("Arena closed");
+        }
+        while (true) {
+            // keep the incomplete line, the rest of the segment is free again
+            if (unindexed > 0) {
+                ByteBuffer rest = segment.duplicate();
+                rest.position(unindexed).limit(dataEnd);
+                segment.clear();
+                segment.put(rest);
+                dataEnd -= unindexed;
+                unindexed = 0;
+            }
+            if (dataEnd == segment.capacity()) {
+                // a \r last may still be the end of the line
+                int partial = (segment.get(dataEnd - 1) == '\r')? dataEnd - 1 : dataEnd;
+                if (partial > maxBytes) {
+                    skipRestOfLine();
+                    droppedLine = true;
+                    return false;
+                }
+                grow();
+            }
+            if (!endOfInput) {
+                read();
+            }
+            if (indexLines() > 0) {
+                batches ++;
+                return true;
+            }
+            if (endOfInput) {
+                return false;
+            }
+        }
+    }
+
+    private void read(){
+        segment.limit(segment.capacity()).position(dataEnd);
+        try {
+            int read;
+            do {
+                read = channel.read(segment);
+            } while (read == 0 && segment.hasRemaining());
+            if (read < 0) {
+                endOfInput = true;
+            }
+        } catch (IOException e) {
+            lastException = e;
+            endOfInput = true;
+        }
+        dataEnd = segment.position();
+    }
+
+    /**
+     * Drops the incomplete line filling the segment, and the rest of it up to its terminator, without growing the segment.
+      */
+    private void skipRestOfLine(){
+        batchSize = 0;
+        batchIndex = 0;
+        while (true) {
+            for (int i = 0; i < dataEnd; i++) {
+                byte b = segment.get(i);
+                if (b == '\n' || b == '\r') {
+                    if (b == '\r' && i + 1 == dataEnd && !endOfInput) {
+                        // read on to see if a \n follows
+                        dataEnd = 0;
+                        read();
+                        unindexed = (dataEnd > 0 && segment.get(0) == '\n')? 1 : 0;
+                        return;
+                    }
+                    unindexed = (b == '\r' && i + 1 < dataEnd && segment.get(i + 1) == '\n')? i + 2 : i + 1;
+                    return;
+                }
+            }
+            dataEnd = 0;
+            unindexed = 0;
+            if (endOfInput) {
+                return;
+            }
+            read();
+        }
+    }
+
+    /**
+     * Doubles the segment for a line that doesn't fit.
+      */
+    private void grow(){
+        if (segment.capacity() > Integer.MAX_VALUE / 2) {
+            throw new IllegalStateException("Line too long for a segment");
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(segment.capacity() * 2);
+        segment.clear().limit(dataEnd);
+        larger.put(segment);
+        segment = larger;
+    }
+
+    /**
+     * Indexes the complete lines in the segment as the new batch.
+     * @return number of lines in the batch
+      */
+    private int indexLines(){
+        batchSize = 0;
+        batchIndex = 0;
+        int lineStart = 0;
+        boolean lineAscii = true;
+        for (int i = 0; i < dataEnd; i++) {
+            byte b = segment.get(i);
+            if (b == '\n' || b == '\r') {
+                if (b == '\r' && i + 1 == dataEnd && !endOfInput) {
+                    // can't tell \r from \r\n yet
+                    break;
+                }
+                addLine(lineStart, i - lineStart, lineAscii);
+                if (b == '\r' && i + 1 < dataEnd && segment.get(i + 1) == '\n') {
+                    i ++;
+                }
+                lineStart = i + 1;
+                lineAscii = true;
+            }
+            else if (b < 0) {
+                lineAscii = false;
+            }
+        }
+        if (endOfInput && lineStart < dataEnd) {
+            // last line has no terminator
+            addLine(lineStart, dataEnd - lineStart, lineAscii);
+            lineStart = dataEnd;
+        }
+        unindexed = lineStart;
+        return batchSize;
+    }
+
+    private void addLine(int start, int length, boolean lineAscii){
+        if (batchSize == starts.length) {
+            starts = Arrays.copyOf(starts, batchSize * 2);
+            lengths = Arrays.copyOf(lengths, batchSize * 2);
+            ascii = Arrays.copyOf(ascii, batchSize * 2);
+        }
+        starts[batchSize] = start;
+        lengths[batchSize] = length;
+        ascii[batchSize] = lineAscii;
+        batchSize ++;
+    }
+
+    /**
+     * @return number of batches read so far
+      */
+    public long batchCount(){
+        return batches;
+    }
+
+    /**
+     * @return current size of the segment in bytes
+      */
+    public int segmentSize(){
+        return (segment == null)? 0 : segment.capacity();
+    }
+
+    /**
+     * Gets the last {@link IOException} thrown by the channel.
+     * @return the exception, or null if there was none
+      */
+    public IOException ioException(){
+        return lastException;
+    }
+
+    /**
+     * Closes the channel and drops the segment, views of it must not be used afterwards.
+      */
+    @Override
+    public void close(){
+        segment = null;
+        batchSize = 0;
+        batchIndex = 0;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            lastException = e;
+        }
+    }
+}
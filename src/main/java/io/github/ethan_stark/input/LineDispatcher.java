@@ -0,0 +1,301 @@
+package io.github.ethan_stark.input;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.ethan_stark.input.BatchValidation.Handler;
+import io.github.ethan_stark.input.BatchValidation.Totals;
+
+
+/**
+ * <p>Shares one line source between several validating threads. </p>
+ * <p>A single reader thread reads the source and puts batches of lines on a bounded lock-free queue,
+ * worker threads take batches and check every line with a {@link BatchValidation}.
+ * When the queue is full the reader waits, so a slow handler holds back reading instead of filling memory. </p>
+ * <p>Unlike {@link BatchValidation#runParallel(LineSource, Handler, int, int)} the handler is called
+ * from the worker threads as soon as a line is checked, so it must be thread safe and outcomes arrive out of order.
+ * With sequence numbers on, each outcome has its line number so results can be put back in order. </p>
+ * <p>Lines are handed out a batch at a time, so for interactive input use a batch size of 1. </p>
+ * @param <T> The resulting type of the conversion.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class LineDispatcher<T> implements AutoCloseable {
+
+    /** Default number of lines per batch.  */
+    public final static int DEFAULT_BATCH_LINES = 256;
+
+    /** Default number of batches the queue holds.  */
+    public final static int DEFAULT_QUEUE_BATCHES = 64;
+
+    /** Longest a waiting thread sleeps before checking the queue again.  */
+    private final static long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** How long {@link #close()} waits for the reader before closing the source under it.  */
+    private final static long CLOSE_WAIT_MILLIS = 100;
+
+    /** Lines read together, numbered from the first one.  */
+    private static final class Batch {
+        final long firstLine;
+        final String[] lines;
+        final int count;
+
+        Batch(long firstLine, String[] lines, int count){
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.count = count;
+        }
+    }
+
+    private final LineSource source;
+    private final BatchValidation<T> validation;
+    private final Handler<? super T> handler;
+    private final int batchLines;
+    private final boolean sequenceNumbers;
+    private final BoundedRing<Batch> queue;
+    private final Thread reader;
+    private final Thread[] workers;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean readerDone = false;
+    private volatile boolean stopping = false;
+
+    private LineDispatcher(LineSource source, BatchValidation<T> validation, Handler<? super T> handler,
+                                            int workerCount, int batchLines, int queueBatches, boolean sequenceNumbers){
+        if (source == null || validation == null || handler == null) {
+            throw new NullPointerException("source, validation and handler can't be null");
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workers must be above 0, was " + workerCount);
+        }
+        if (batchLines <= 0) {
+            throw new IllegalArgumentException("batchLines must be above 0, was " + batchLines);
+        }
+        this.source = source;
+        this.validation = validation;
+        this.handler = handler;
+        this.batchLines = batchLines;
+        this.sequenceNumbers = sequenceNumbers;
+        this.queue = new BoundedRing<>(queueBatches);
+
+        reader = new Thread(this::read, "javainp-dispatch-reader");
+        reader.setDaemon(true);
+        workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Thread(this::work, "javainp-dispatch-worker-" + (i + 1));
+            workers[i].setDaemon(true);
+        }
+    }
+
+    /**
+     * Starts dispatching the source's lines with the default batch and queue sizes, and sequence numbers on.
+     * @param <T> The resulting type of the conversion.
+     * @param source the lines to validate, closed by {@link #close()}
+     * @param validation how each line is checked, its converter must be thread safe
+     * @param handler receives each outcome from the worker threads, must be thread safe
+     * @param workers number of validating threads
+     * @return the running dispatcher
+      */
+    public static <T> LineDispatcher<T> start(LineSource source, BatchValidation<T> validation, Handler<? super T> handler, int workers){
+        return start(source, validation, handler, workers, DEFAULT_BATCH_LINES, DEFAULT_QUEUE_BATCHES, true);
+    }
+
+    /**
+     * Starts dispatching the source's lines.
+     * @param <T> The resulting type of the conversion.
+     * @param source the lines to validate, closed by {@link #close()}
+     * @param validation how each line is checked, its converter must be thread safe
+     * @param handler receives each outcome from the worker threads, must be thread safe
+     * @param workers number of validating threads
+     * @param batchLines lines read before a batch is queued
+     * @param queueBatches batches queued before the reader waits for the workers
+     * @param sequenceNumbers whether the handler gets line numbers, otherwise it gets 0
+     * @return the running dispatcher
+      */
+    public static <T> LineDispatcher<T> start(LineSource source, BatchValidation<T> validation, Handler<? super T> handler,
+                                            int workers, int batchLines, int queueBatches, boolean sequenceNumbers){
+        LineDispatcher<T> dispatcher = new LineDispatcher<>(source, validation, handler, workers, batchLines, queueBatches, sequenceNumbers);
+        for (Thread worker : dispatcher.workers) {
+            worker.start();
+        }
+        dispatcher.reader.start();
+        return dispatcher;
+    }
+
+    /**
+     * Reads batches until the source ends or the dispatcher stops.
+      */
+    private void read(){
+        try {
+            long lineNumber = 0;
+            while (!stopping && source.hasNextLine()) {
+                String[] lines = new String[batchLines];
+                int count = 0;
+                RuntimeException readFailure = null;
+                try {
+                    while (count < batchLines && !stopping && source.hasNextLine()) {
+                        lines[count++] = source.nextLine();
+                    }
+                } catch (RuntimeException e) {
+                    // the lines already read still get handled
+                    readFailure = e;
+                }
+                Batch batch = new Batch(lineNumber + 1, lines, count);
+                lineNumber += count;
+
+                // lines taken from the source are always queued, unless the workers have failed
+                for (int idle = 0; !queue.offer(batch); idle = Math.min(idle + 1, 1024)) {
+                    if (failure.get() != null) {
+                        return;
+                    }
+                    pause(idle);
+                }
+                if (readFailure != null) {
+                    throw readFailure;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // a read ended by close closing the source isn't a failure
+            if (!stopping) fail(e);
+        } finally {
+            readerDone = true;
+        }
+    }
+
+    /**
+     * Validates batches until the reader is done and the queue is empty.
+      */
+    private void work(){
+        ConvertResult<T> result = new ConvertResult<>();
+        long acceptedLines = 0;
+        long rejectedLines = 0;
+        try {
+            int idle = 0;
+            while (failure.get() == null) {
+                Batch batch = queue.poll();
+                if (batch == null) {
+                    if (readerDone && queue.isEmpty()) {
+                        break;
+                    }
+                    pause(idle);
+                    idle = Math.min(idle + 1, 1024);
+                    continue;
+                }
+                idle = 0;
+                for (int i = 0; i < batch.count; i++) {
+                    long lineNumber = sequenceNumbers ? batch.firstLine + i : 0;
+                    String line = batch.lines[i];
+                    if (validation.validate(line, result)) {
+                        handler.accepted(lineNumber, result.getValue());
+                        acceptedLines ++;
+                    }
+                    else {
+                        handler.rejected(lineNumber, line);
+                        rejectedLines ++;
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            fail(e);
+        } finally {
+            result.reset();
+            accepted.add(acceptedLines);
+            rejected.add(rejectedLines);
+        }
+    }
+
+    /**
+     * Spins briefly, then sleeps for longer and longer up to {@link #MAX_PARK_NANOS}.
+     * @param idle number of times in a row there was nothing to do
+      */
+    private static void pause(int idle){
+        if (idle < 64) {
+            Thread.onSpinWait();
+        }
+        else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1000L << Math.min(10, idle - 64)));
+        }
+    }
+
+    private void fail(Throwable e){
+        failure.compareAndSet(null, e);
+        stopping = true;
+    }
+
+    /**
+     * @return whether every line has been handled, or dispatching stopped
+      */
+    public boolean isDone(){
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every line of the source has been handled.
+     * @return the line counts
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the source, converter or handler failed, with the failure as cause
+      */
+    public Totals await() throws InterruptedException{
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Dispatching failed", error);
+        }
+        return new Totals(accepted.sum(), rejected.sum());
+    }
+
+    /**
+     * <p>Stops reading, lets the workers finish every line already read, then closes the source. </p>
+     * <p>The reader is interrupted and finishes the batch it is reading. If it is still blocked waiting for input
+     * after a short wait, the source is closed under it to end the read, when the source supports it.
+     * Otherwise the source is only closed once the reader is done with it. </p>
+      */
+    @Override
+    public void close(){
+        stopping = true;
+        reader.interrupt();
+        boolean interrupted = false;
+        boolean sourceClosed = false;
+        while (true) {
+            try {
+                reader.join(sourceClosed ? 0 : CLOSE_WAIT_MILLIS);
+                if (!reader.isAlive()) {
+                    break;
+                }
+                if (!sourceClosed) {
+                    source.close();
+                    sourceClosed = true;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Thread worker : workers) {
+            while (true) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (!sourceClosed) {
+            source.close();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.ethan_stark.input;
+
+
+/**
+ * <p>Where {@link JavaInp} gets its lines from. </p>
+ * <p>Lines are returned without their line terminator, the same way {@link java.util.Scanner#nextLine()} does. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public interface LineSource extends AutoCloseable {
+
+    /**
+     * Gets the next line of input.
+     * @return the next line, without its line terminator
+     * @throws java.util.NoSuchElementException if there are no lines left
+      */
+    public String nextLine();
+
+    /**
+     * <p>Gets the next line without necessarily making a String. </p>
+     * <p>Sources over raw bytes return a reused view that is only valid until the next line is read,
+     * call {@code toString()} on it to keep the line. </p>
+     * @return the next line, without its line terminator
+     * @throws java.util.NoSuchElementException if there are no lines left
+      */
+    public default CharSequence nextLineView(){
+        return nextLine();
+    }
+
+    /**
+     * <p>Gets the next line if it has at most {@code maxLength} characters. </p>
+     * <p>A longer line is still read up to its end. Sources reading from a stream drop it as they read instead of
+     * holding all of it, so a huge line costs no more memory than {@code maxLength} allows. By default the whole line
+     * is read first, which is fine for sources that don't keep lines on the heap. </p>
+     * @param maxLength most characters to keep
+     * @return the line like {@link #nextLineView()}, or null if it was longer
+     * @throws java.util.NoSuchElementException if there are no lines left
+      */
+    public default CharSequence nextLineView(int maxLength){
+        CharSequence line = nextLineView();
+        return (line.length() <= maxLength)? line : null;
+    }
+
+    /**
+     * Checks if there is another line, blocking until it is known.
+     * @return whether {@link #nextLine()} will return a line
+      */
+    public boolean hasNextLine();
+
+    /**
+     * Closes the source and whatever it reads from.
+      */
+    @Override
+    public void close();
+}
@@ -0,0 +1,182 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToInt;
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+
+/**
+ * <p>Lazy streams of lines and converted values, from a {@link JavaInp} or straight from a file. </p>
+ * <p>Nothing is read until the stream is consumed. Streams from a {@code JavaInp} read its source one line at a time.
+ * Streams of a file split on line boundaries, so {@code .parallel()} reads different parts of the file on different threads. </p>
+ * <pre>{@code
+ * try (Stream<Integer> values = LineStreams.values(file, UTF_8, JavaInp.IntegerConvert, RejectPolicy.SKIP)) {
+ *     long total = values.parallel().mapToLong(Integer::longValue).sum();
+ * }
+ * }</pre>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class LineStreams {
+
+    private LineStreams(){}
+
+    /**
+     * What a stream of converted values does with a line its converter rejects.
+      */
+    public static enum RejectPolicy {
+        /** Leave the line out of the stream.  */
+        SKIP,
+        /** Stop the stream by throwing an {@link IllegalArgumentException}, caused by the rejection if it had one.  */
+        FAIL
+    }
+
+    /**
+     * Streams the lines of a file, split on line boundaries for parallel use. Close the stream to close the file.
+     * @param file the file to read
+     * @param charset charset of the file, line ends must be single ASCII bytes in it
+     * @return the lines
+     * @throws IOException if the file can't be opened
+      */
+    public static Stream<String> lines(Path file, Charset charset) throws IOException{
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(new FileLineSpliterator(channel, charset), false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the lines of a file in the platforms default charset, like {@link MappedLineSource#MappedLineSource(Path)}.
+     * @param file the file to read
+     * @return the lines
+     * @throws IOException if the file can't be opened
+      */
+    public static Stream<String> lines(Path file) throws IOException{
+        return lines(file, Charset.defaultCharset());
+    }
+
+    /**
+     * Streams the converted lines of a file, split on line boundaries for parallel use. Close the stream to close the file.
+     * @param <T> The resulting type of the conversion.
+     * @param file the file to read
+     * @param charset charset of the file, line ends must be single ASCII bytes in it
+     * @param convert converts each line, must be thread safe for parallel streams
+     * @param policy what to do with rejected lines
+     * @return the values
+     * @throws IOException if the file can't be opened
+      */
+    public static <T> Stream<T> values(Path file, Charset charset, ConvertToType<T> convert, RejectPolicy policy) throws IOException{
+        return values(lines(file, charset), convert, policy);
+    }
+
+    /**
+     * Streams the converted lines of a file as ints, split on line boundaries for parallel use. Close the stream to close the file.
+     * @param file the file to read
+     * @param charset charset of the file, line ends must be single ASCII bytes in it
+     * @param convert converts each line, must be thread safe for parallel streams
+     * @param policy what to do with rejected lines
+     * @return the values
+     * @throws IOException if the file can't be opened
+      */
+    public static IntStream ints(Path file, Charset charset, ConvertToInt convert, RejectPolicy policy) throws IOException{
+        return lines(file, charset).mapMultiToInt((line, sink) -> {
+            ConvertResult<?> result = new ConvertResult<>();
+            if (accepted(convert.TryTransformInt(line, 0, line.length(), result), line, result, policy)) {
+                sink.accept(result.getInt());
+            }
+        });
+    }
+
+    /**
+     * Converts a stream of lines.
+      */
+    static <T> Stream<T> values(Stream<String> lines, ConvertToType<T> convert, RejectPolicy policy){
+        if (convert == null || policy == null) {
+            throw new NullPointerException("convert and policy can't be null");
+        }
+        return lines.mapMulti((String line, Consumer<T> sink) -> {
+            ConvertResult<T> result = new ConvertResult<>();
+            if (accepted(convert.TryTransform(line, result), line, result, policy)) {
+                sink.accept(result.getValue());
+            }
+        });
+    }
+
+    /**
+     * Applies the policy to a conversion.
+     * @return whether the value belongs in the stream
+      */
+    private static boolean accepted(boolean valid, CharSequence line, ConvertResult<?> result, RejectPolicy policy){
+        if (valid) {
+            return true;
+        }
+        if (policy == RejectPolicy.SKIP) {
+            return false;
+        }
+        Throwable cause = result.getCause();
+        throw new IllegalArgumentException("Rejected line \"" + line + "\"",
+            (cause != null)? cause : InvalidInputException.stackless(line.toString()));
+    }
+
+    /**
+     * Streams the remaining lines of a {@code JavaInp}.
+      */
+    static Stream<String> lines(JavaInp inp, LineSource source){
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action){
+                if (!source.hasNextLine()) {
+                    return false;
+                }
+                action.accept(inp.getNextLine());
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Streams the remaining lines of a {@code JavaInp} as ints, converting line views without making Strings.
+      */
+    static IntStream ints(JavaInp inp, LineSource source, ConvertToInt convert, RejectPolicy policy){
+        if (convert == null || policy == null) {
+            throw new NullPointerException("convert and policy can't be null");
+        }
+        ConvertResult<?> result = new ConvertResult<>();
+        return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(IntConsumer action){
+                while (source.hasNextLine()) {
+                    CharSequence line = inp.getNextLineView();
+                    if (accepted(convert.TryTransformInt(line, 0, line.length(), result), line, result, policy)) {
+                        action.accept(result.getInt());
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }, false);
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+
+/**
+ * <p>Reads lines from a memory mapped file. </p>
+ * <p>The file is mapped in windows, so files larger than 2 GB work. {@link #nextLineView()} returns
+ * a view over the mapped bytes, a String is only decoded when one is asked for. </p>
+ * <p>Lines end at {@code \n}, {@code \r\n} or a lone {@code \r}, like {@link BufferedLineReader}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class MappedLineSource implements LineSource {
+
+    /** Default number of bytes mapped at once.  */
+    public final static int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    /** Largest window a single line can grow it to.  */
+    private final static int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final ByteLineView view;
+    private int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+    private int pos = 0;
+
+    /**
+     * Maps the file with the platforms default charset.
+     * @param file the file to read
+     * @throws IOException if the file can't be opened or mapped
+      */
+    public MappedLineSource(Path file) throws IOException{
+        this(file, Charset.defaultCharset(), DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Maps the file with the given charset and window size.
+     * @param file the file to read
+     * @param charset charset of the file, {@code \n} and {@code \r} must be single ASCII bytes in it
+     * @param windowSize number of bytes mapped at once, grows for longer lines
+     * @throws IOException if the file can't be opened or mapped
+      */
+    public MappedLineSource(Path file, Charset charset, int windowSize) throws IOException{
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be above 0, was " + windowSize);
+        }
+        if (!BufferedLineReader.isAsciiCompatible(charset)) {
+            throw new IllegalArgumentException("Line ends can't be found by byte in " + charset);
+        }
+        this.view = new ByteLineView(charset);
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            map(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the window starting at the given file position.
+      */
+    private void map(long start) throws IOException{
+        long size = Math.min(windowSize, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        pos = 0;
+    }
+
+    private boolean windowAtEnd(){
+        return windowStart + window.limit() == fileSize;
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        return windowStart + pos < fileSize;
+    }
+
+    /**
+     * Gets the next line as a view over the mapped bytes.
+     * @return the line, only valid until the next line is read
+     * @throws NoSuchElementException if there are no lines left
+      */
+    @Override
+    public CharSequence nextLineView(){
+        if (!hasNextLine()) {
+            throw new NoSuchElementException("No line found");
+        }
+        while (true) {
+            int limit = window.limit();
+            boolean ascii = true;
+            int i = pos;
+            for (; i < limit; i++) {
+                byte b = window.get(i);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b < 0) ascii = false;
+            }
+
+            // a \r at the window end needs the next byte to know if it is \r\n
+            boolean needsMore = (i == limit) || (window.get(i) == '\r' && i + 1 == limit);
+            if (!needsMore || windowAtEnd()) {
+                view.set(window, pos, i - pos, ascii);
+                pos = i;
+                if (pos < limit) {
+                    pos += (window.get(pos) == '\r' && pos + 1 < limit && window.get(pos + 1) == '\n') ? 2 : 1;
+                }
+                return view;
+            }
+            remapAtLine();
+        }
+    }
+
+    /**
+     * Moves the window to start at the current line, growing it if the line fills the whole window.
+      */
+    private void remapAtLine(){
+        if (pos == 0) {
+            if (windowSize == MAX_WINDOW_SIZE) {
+                throw new IllegalStateException("Line at byte " + windowStart + " is longer than " + MAX_WINDOW_SIZE + " bytes");
+            }
+            windowSize = (int) Math.min((long) windowSize * 2, MAX_WINDOW_SIZE);
+        }
+        try {
+            map(windowStart + pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String nextLine(){
+        return nextLineView().toString();
+    }
+
+    @Override
+    public void close(){
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
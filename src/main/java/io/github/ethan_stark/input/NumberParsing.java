@@ -0,0 +1,326 @@
+package io.github.ethan_stark.input;
+
+
+/**
+ * <p>Parses numbers from {@link CharSequence} regions without throwing. </p>
+ * <p>Accepts exactly what {@link Integer#parseInt(String)}, {@link Long#parseLong(String)}
+ * and {@link Double#parseDouble(String)} accept, but reports bad input through a {@link ConvertResult}
+ * instead of a {@link NumberFormatException}. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+final class NumberParsing {
+
+    /** Powers of ten that are exact doubles.  */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private NumberParsing(){}
+
+    /**
+     * Parses a base 10 int like {@link Integer#parseInt(CharSequence, int, int, int)}.
+     * @param s the sequence to parse
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param result where the int or rejection goes
+     * @return whether the region was a valid int
+      */
+    static boolean parseInt(CharSequence s, int start, int end, ConvertResult<?> result){
+        if (!parseWhole(s, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, result)) {
+            return false;
+        }
+        return result.acceptInt((int) result.getLong());
+    }
+
+    /**
+     * Parses a base 10 long like {@link Long#parseLong(CharSequence, int, int, int)}.
+     * @param s the sequence to parse
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param result where the long or rejection goes
+     * @return whether the region was a valid long
+      */
+    static boolean parseLong(CharSequence s, int start, int end, ConvertResult<?> result){
+        return parseWhole(s, start, end, Long.MIN_VALUE, Long.MAX_VALUE, result);
+    }
+
+    /**
+     * Parses a signed base 10 number within the given bounds, accumulating negatively like the JDK does.
+     * @return whether the region was valid, the value is given to {@link ConvertResult#acceptLong(long)}
+      */
+    private static boolean parseWhole(CharSequence s, int start, int end, long min, long max, ConvertResult<?> result){
+        if (start >= end) {
+            return result.reject();
+        }
+        int i = start;
+        boolean negative = false;
+        char first = s.charAt(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+            }
+            else if (first != '+') {
+                return result.reject();
+            }
+            i ++;
+            if (i == end) {
+                return result.reject();
+            }
+        }
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long value = 0;
+        while (i < end) {
+            int digit = Character.digit(s.charAt(i++), 10);
+            if (digit < 0 || value < multmin) {
+                return result.reject();
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                return result.reject();
+            }
+            value -= digit;
+        }
+        return result.acceptLong(negative ? value : -value);
+    }
+
+    /**
+     * Parses a double like {@link Double#parseDouble(String)}, including surrounding whitespace,
+     * {@code NaN}, {@code Infinity}, hexadecimal and the {@code f}/{@code d} suffixes.
+     * <p>Decimals are read straight from the sequence into a significand of up to 19 digits and an exponent.
+     * Those that are exact in a double are computed directly, the rest go through {@link EiselLemire}.
+     * Only hexadecimal and decimals with more than 19 digits whose rounding the first 19 can't settle
+     * fall back to {@code Double.parseDouble}, and only after their syntax is checked, so bad input never makes an exception. </p>
+     * @param s the sequence to parse
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param result where the double or rejection goes
+     * @return whether the region was a valid double
+      */
+    static boolean parseDouble(CharSequence s, int start, int end, ConvertResult<?> result){
+        // same trimming as String.trim()
+        while (start < end && s.charAt(start) <= ' ') start ++;
+        while (end > start && s.charAt(end - 1) <= ' ') end --;
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i ++;
+        }
+        if (i < end && (s.charAt(i) == 'N' || s.charAt(i) == 'I' || isHexPrefix(s, i, end))) {
+            return parseSpecialDouble(s, start, end, negative, result);
+        }
+
+        // significand, keeping the first 19 significant digits and noting if any non-zero ones were dropped
+        long significand = 0;
+        int significantDigits = 0;
+        long exponent = 0;
+        boolean truncated = false;
+        boolean anyDigits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigits = true;
+                if (significantDigits < 19) {
+                    significand = significand * 10 + (c - '0');
+                    if (significand != 0) significantDigits ++;
+                    if (point) exponent --;
+                }
+                else {
+                    if (!point) exponent ++;
+                    if (c != '0') truncated = true;
+                }
+            }
+            else if (c == '.' && !point) {
+                point = true;
+            }
+            else {
+                break;
+            }
+        }
+        if (!anyDigits) {
+            return result.reject();
+        }
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i ++;
+            boolean negativeExponent = false;
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negativeExponent = s.charAt(i) == '-';
+                i ++;
+            }
+            int expStart = i;
+            long explicit = 0;
+            for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                // past this the result is zero or infinite anyway
+                if (explicit < 1_000_000_000L) {
+                    explicit = explicit * 10 + (s.charAt(i) - '0');
+                }
+            }
+            if (i == expStart) {
+                return result.reject();
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (!isEndOrSuffix(s, i, end)) {
+            return result.reject();
+        }
+
+        double value;
+        if (significand == 0) {
+            value = 0;
+        }
+        else if (!truncated && exponent >= -22 && exponent <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            // both operands are exact, so one rounding gives the correct result
+            value = (double) significand;
+            value = (exponent < 0) ? value / EXACT_POWERS_OF_TEN[(int) -exponent] : value * EXACT_POWERS_OF_TEN[(int) exponent];
+        }
+        else {
+            int q = (int) Math.max(Math.min(exponent, Integer.MAX_VALUE), Integer.MIN_VALUE);
+            long bits = EiselLemire.toBits(significand, q);
+            // the dropped digits put the true value between w and w + 1, fine if both round the same way
+            if (truncated && bits != EiselLemire.toBits(significand + 1, q)) {
+                return result.acceptDouble(Double.parseDouble(s.subSequence(start, end).toString()));
+            }
+            value = Double.longBitsToDouble(bits);
+        }
+        return result.acceptDouble(negative ? -value : value);
+    }
+
+    private static boolean isHexPrefix(CharSequence s, int i, int end){
+        return i + 1 < end && s.charAt(i) == '0' && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X');
+    }
+
+    /**
+     * Parses {@code NaN}, {@code Infinity} and hexadecimal doubles.
+      */
+    private static boolean parseSpecialDouble(CharSequence s, int start, int end, boolean negative, ConvertResult<?> result){
+        if (!isDoubleSyntax(s, start, end)) {
+            return result.reject();
+        }
+        char first = s.charAt(negative || s.charAt(start) == '+' ? start + 1 : start);
+        if (first == 'N') {
+            return result.acceptDouble(Double.NaN);
+        }
+        if (first == 'I') {
+            return result.acceptDouble(negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+        return result.acceptDouble(Double.parseDouble(s.subSequence(start, end).toString()));
+    }
+
+    /**
+     * Checks a trimmed region against the grammar of {@link Double#valueOf(String)}.
+     * @param s the sequence to check
+     * @param i index of the first character
+     * @param end index after the last character
+     * @return whether {@code Double.parseDouble} would accept the region
+      */
+    static boolean isDoubleSyntax(CharSequence s, int i, int end){
+        if (i >= end) {
+            return false;
+        }
+        char c = s.charAt(i);
+        if (c == '+' || c == '-') {
+            i ++;
+            if (i >= end) {
+                return false;
+            }
+            c = s.charAt(i);
+        }
+        if (c == 'N') {
+            return equals(s, i, end, "NaN");
+        }
+        if (c == 'I') {
+            return equals(s, i, end, "Infinity");
+        }
+        if (isHexPrefix(s, i, end)) {
+            return isHexSyntax(s, i + 2, end);
+        }
+
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') digits ++;
+            else if (c == '.' && !point) point = true;
+            else break;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (c == 'e' || c == 'E')) {
+            i = skipExponent(s, i + 1, end);
+            if (i < 0) {
+                return false;
+            }
+        }
+        return isEndOrSuffix(s, i, end);
+    }
+
+    /**
+     * Checks the part of a hexadecimal double after {@code 0x}.
+      */
+    private static boolean isHexSyntax(CharSequence s, int i, int end){
+        int digits = 0;
+        boolean point = false;
+        char c = 0;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) digits ++;
+            else if (c == '.' && !point) point = true;
+            else break;
+        }
+        // binary exponent is required for hex
+        if (digits == 0 || i >= end || (c != 'p' && c != 'P')) {
+            return false;
+        }
+        i = skipExponent(s, i + 1, end);
+        return i >= 0 && isEndOrSuffix(s, i, end);
+    }
+
+    /**
+     * Skips an optionally signed exponent.
+     * @return index after the exponent, or -1 if it had no digits
+      */
+    private static int skipExponent(CharSequence s, int i, int end){
+        if (i < end && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            i ++;
+        }
+        int expStart = i;
+        while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i ++;
+        }
+        return (i == expStart) ? -1 : i;
+    }
+
+    private static boolean isEndOrSuffix(CharSequence s, int i, int end){
+        if (i == end) {
+            return true;
+        }
+        char c = s.charAt(i);
+        return i == end - 1 && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    /**
+     * Checks if a region of {@code s} is exactly {@code word}, without making a substring.
+     * @param s the sequence to check within
+     * @param start index of the first character
+     * @param end index after the last character
+     * @param word the word to match
+     * @return whether the region matches
+      */
+    static boolean equals(CharSequence s, int start, int end, String word){
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (s.charAt(start + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,301 @@
+package io.github.ethan_stark.input;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+
+/**
+ * <p>Where {@link JavaInp} writes prompts and error messages. </p>
+ * <p>Sinks other than {@link #systemOut()} batch their writes and flush according to a {@link FlushPolicy}.
+ * Byte sinks remember the encoded bytes of recently written strings, so a prompt asked over and over is only encoded once. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public abstract class PromptSink implements Flushable {
+
+    /**
+     * When a buffered sink writes its batched output.
+      */
+    public static enum FlushPolicy {
+        /** Flush after every prompt or error message.  */
+        ALWAYS,
+        /** Flush before {@link JavaInp} waits for a line, so interactive users still see the prompt.  */
+        BEFORE_READ,
+        /** Only flush when the buffer is full or {@link PromptSink#flush()} is called, for piped input.  */
+        WHEN_FULL
+    }
+
+    /** Default number of characters or bytes batched before a flush.  */
+    public final static int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final static String LINE_SEPARATOR = System.lineSeparator();
+
+    private final FlushPolicy policy;
+
+    private PromptSink(FlushPolicy policy){
+        if (policy == null) {
+            throw new NullPointerException("policy can't be null");
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * Writes straight to whatever {@code System.out} currently is, the original behaviour of {@link JavaInp}.
+     * @return the sink
+      */
+    public static PromptSink systemOut(){
+        return SystemOut.INSTANCE;
+    }
+
+    /**
+     * Batches output to a print stream.
+     * @param out stream to write to
+     * @param policy when to flush
+     * @return the sink
+      */
+    public static PromptSink of(PrintStream out, FlushPolicy policy){
+        return new CharSink(out, out::flush, policy);
+    }
+
+    /**
+     * Batches output to a writer.
+     * @param out writer to write to
+     * @param policy when to flush
+     * @return the sink
+      */
+    public static PromptSink of(Writer out, FlushPolicy policy){
+        return new CharSink(out, out::flush, policy);
+    }
+
+    /**
+     * Batches encoded output to a byte stream.
+     * @param out stream to write to
+     * @param charset charset to encode with
+     * @param policy when to flush
+     * @return the sink
+      */
+    public static PromptSink of(OutputStream out, Charset charset, FlushPolicy policy){
+        return new ByteSink(Channels.newChannel(out), out::flush, charset, DEFAULT_BUFFER_SIZE, policy);
+    }
+
+    /**
+     * Batches encoded output to a channel.
+     * @param out channel to write to
+     * @param charset charset to encode with
+     * @param policy when to flush
+     * @return the sink
+      */
+    public static PromptSink of(WritableByteChannel out, Charset charset, FlushPolicy policy){
+        return new ByteSink(out, () -> {}, charset, DEFAULT_BUFFER_SIZE, policy);
+    }
+
+    /**
+     * @return when this sink flushes
+      */
+    public FlushPolicy getFlushPolicy(){
+        return policy;
+    }
+
+    /**
+     * Writes the text.
+     * @param text text to write
+      */
+    public void print(String text){
+        write(text);
+        if (policy == FlushPolicy.ALWAYS) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the text and a line separator.
+     * @param text text to write
+      */
+    public void println(String text){
+        write(text);
+        write(LINE_SEPARATOR);
+        if (policy == FlushPolicy.ALWAYS) {
+            flush();
+        }
+    }
+
+    /**
+     * Called before {@link JavaInp} waits for a line.
+      */
+    void beforeRead(){
+        if (policy == FlushPolicy.BEFORE_READ) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds the text to the batch.
+     * @param text text to write
+      */
+    abstract void write(String text);
+
+    /**
+     * Writes out everything batched so far.
+     * @throws UncheckedIOException if the destination fails
+      */
+    @Override
+    public abstract void flush();
+
+    /** Something that can be flushed, with the checked exception of {@link Flushable}.  */
+    private static interface FlushAction {
+        void flush() throws IOException;
+    }
+
+    /**
+     * Unbuffered writes to the current {@code System.out}.
+      */
+    private static final class SystemOut extends PromptSink {
+        static final SystemOut INSTANCE = new SystemOut();
+
+        private SystemOut(){
+            super(FlushPolicy.ALWAYS);
+        }
+
+        @Override
+        public void print(String text){
+            System.out.print(text);
+        }
+
+        @Override
+        public void println(String text){
+            System.out.println(text);
+        }
+
+        @Override
+        void write(String text){
+            System.out.print(text);
+        }
+
+        @Override
+        public void flush(){
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Batches characters in a StringBuilder.
+      */
+    private static final class CharSink extends PromptSink {
+        private final Appendable out;
+        private final FlushAction flushAction;
+        private final StringBuilder batch = new StringBuilder(DEFAULT_BUFFER_SIZE);
+
+        CharSink(Appendable out, FlushAction flushAction, FlushPolicy policy){
+            super(policy);
+            this.out = out;
+            this.flushAction = flushAction;
+        }
+
+        @Override
+        void write(String text){
+            batch.append(text);
+            if (batch.length() >= DEFAULT_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush(){
+            try {
+                if (batch.length() > 0) {
+                    out.append(batch);
+                    batch.setLength(0);
+                }
+                flushAction.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Batches encoded bytes in a buffer, caching the encoding of recently written strings by identity.
+      */
+    private static final class ByteSink extends PromptSink {
+        private final static int CACHE_SLOTS = 64;
+        private final static int MAX_CACHED_LENGTH = 4096;
+
+        private final WritableByteChannel out;
+        private final FlushAction flushAction;
+        private final Charset charset;
+        private final ByteBuffer batch;
+        private final String[] cachedText = new String[CACHE_SLOTS];
+        private final byte[][] cachedBytes = new byte[CACHE_SLOTS][];
+
+        ByteSink(WritableByteChannel out, FlushAction flushAction, Charset charset, int bufferSize, FlushPolicy policy){
+            super(policy);
+            this.out = out;
+            this.flushAction = flushAction;
+            this.charset = charset;
+            this.batch = ByteBuffer.allocate(bufferSize);
+        }
+
+        /**
+         * Gets the encoded bytes, from the cache when the same String was written recently.
+          */
+        private byte[] encode(String text){
+            if (text.length() > MAX_CACHED_LENGTH) {
+                return text.getBytes(charset);
+            }
+            int slot = System.identityHashCode(text) & (CACHE_SLOTS - 1);
+            if (cachedText[slot] != text) {
+                cachedBytes[slot] = text.getBytes(charset);
+                cachedText[slot] = text;
+            }
+            return cachedBytes[slot];
+        }
+
+        @Override
+        void write(String text){
+            byte[] bytes = encode(text);
+            if (bytes.length > batch.remaining()) {
+                flushBatch();
+            }
+            if (bytes.length > batch.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+            }
+            else {
+                batch.put(bytes);
+            }
+        }
+
+        private void flushBatch(){
+            batch.flip();
+            writeFully(batch);
+            batch.clear();
+        }
+
+        private void writeFully(ByteBuffer bytes){
+            try {
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush(){
+            flushBatch();
+            try {
+                flushAction.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
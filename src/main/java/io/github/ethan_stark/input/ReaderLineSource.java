@@ -0,0 +1,107 @@
+package io.github.ethan_stark.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+
+/**
+ * <p>Line source over a {@link Reader}. </p>
+ * <p>Lines end at {@code \n}, {@code \r\n} or a lone {@code \r}, like {@link BufferedReader#readLine()} and {@link BufferedLineReader}.
+ * Unlike Scanner, {@code \u2028}, {@code \u2029} and {@code \u0085} don't end a line. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+class ReaderLineSource implements LineSource {
+
+    private final BufferedReader reader;
+    private String nextLine;
+    private boolean ended = false;
+
+    /**
+     * Reads lines from the given reader.
+     * @param reader The reader to use.
+      */
+    ReaderLineSource(Reader reader){
+        this.reader = (reader instanceof BufferedReader)? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        if (nextLine == null && !ended) {
+            try {
+                nextLine = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ended = (nextLine == null);
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public String nextLine(){
+        if (!hasNextLine()) {
+            throw new NoSuchElementException("No line found");
+        }
+        String line = nextLine;
+        nextLine = null;
+        return line;
+    }
+
+    /**
+     * Reads the line a character at a time, {@link BufferedReader#readLine()} would hold all of it.
+      */
+    @Override
+    public CharSequence nextLineView(int maxLength){
+        if (nextLine != null) {
+            String line = nextLine();
+            return (line.length() <= maxLength)? line : null;
+        }
+        if (ended) {
+            throw new NoSuchElementException("No line found");
+        }
+        StringBuilder line = new StringBuilder();
+        boolean tooLong = false;
+        boolean empty = true;
+        try {
+            int c;
+            while ((c = reader.read()) >= 0) {
+                empty = false;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                }
+                if (!tooLong) {
+                    tooLong = line.length() == maxLength;
+                    if (tooLong) line.setLength(0);
+                    else line.append((char) c);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (empty) {
+            ended = true;
+            throw new NoSuchElementException("No line found");
+        }
+        return tooLong ? null : line;
+    }
+
+    @Override
+    public void close(){
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
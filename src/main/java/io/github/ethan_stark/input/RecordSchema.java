@@ -0,0 +1,368 @@
+package io.github.ethan_stark.input;
+
+import java.util.Arrays;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToBoolean;
+import io.github.ethan_stark.input.JavaInp.ConvertToDouble;
+import io.github.ethan_stark.input.JavaInp.ConvertToInt;
+import io.github.ethan_stark.input.JavaInp.ConvertToLong;
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+
+
+/**
+ * <p>Describes a line holding several delimited fields, such as {@code id,qty,price,flag}, with a converter per field. </p>
+ * <p>{@link #parse(CharSequence, Row)} walks the line once, converting each field in place as its delimiter is found,
+ * into a reusable {@link Row}. Primitive fields go into primitive columns without a substring or boxing,
+ * only fields using a {@link ConvertToType} get a String. The built-in
+ * {@link JavaInp#IntegerConvert}, {@link JavaInp#DoubleConvert} and {@link JavaInp#BooleanConvert} are parsed as primitives. </p>
+ * <p>Fields are not trimmed or unquoted, the delimiter can't appear inside a field. </p>
+ * <pre>{@code
+ * RecordSchema schema = RecordSchema.of(',', RecordSchema.intField(), RecordSchema.intField(),
+ *                                            RecordSchema.doubleField(), RecordSchema.booleanField());
+ * RecordSchema.Row row = schema.newRow();
+ * if (inp.validateRecord("order? ", "Bad order", schema, row, 3)) {
+ *     int id = row.getInt(0);
+ * }
+ * }</pre>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class RecordSchema {
+
+    /**
+     * How one field is converted, made with the static field methods of {@link RecordSchema}.
+      */
+    public static final class Field {
+        private final int kind;
+        private final Object convert;
+
+        private Field(int kind, Object convert){
+            if (convert == null) {
+                throw new NullPointerException("convert can't be null");
+            }
+            this.kind = kind;
+            this.convert = convert;
+        }
+    }
+
+    private final static int INT = 0;
+    private final static int LONG = 1;
+    private final static int DOUBLE = 2;
+    private final static int BOOLEAN = 3;
+    private final static int OBJECT = 4;
+
+    private final char delimiter;
+    private final int[] kinds;
+    private final Object[] converters;
+
+    private RecordSchema(char delimiter, Field[] fields){
+        this.delimiter = delimiter;
+        kinds = new int[fields.length];
+        converters = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            kinds[i] = fields[i].kind;
+            converters[i] = fields[i].convert;
+        }
+    }
+
+    /**
+     * Creates a schema.
+     * @param delimiter the character between fields
+     * @param fields how each field is converted, in order
+     * @return the schema
+      */
+    public static RecordSchema of(char delimiter, Field... fields){
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("A record needs at least one field");
+        }
+        return new RecordSchema(delimiter, fields.clone());
+    }
+
+    /**
+     * @return an int field using {@link JavaInp#IntPrimitiveConvert}
+      */
+    public static Field intField(){
+        return intField(JavaInp.IntPrimitiveConvert);
+    }
+
+    /**
+     * @param convert how to convert the field
+     * @return an int field
+      */
+    public static Field intField(ConvertToInt convert){
+        return new Field(INT, convert);
+    }
+
+    /**
+     * @return a long field using {@link JavaInp#LongPrimitiveConvert}
+      */
+    public static Field longField(){
+        return longField(JavaInp.LongPrimitiveConvert);
+    }
+
+    /**
+     * @param convert how to convert the field
+     * @return a long field
+      */
+    public static Field longField(ConvertToLong convert){
+        return new Field(LONG, convert);
+    }
+
+    /**
+     * @return a double field using {@link JavaInp#DoublePrimitiveConvert}
+      */
+    public static Field doubleField(){
+        return doubleField(JavaInp.DoublePrimitiveConvert);
+    }
+
+    /**
+     * @param convert how to convert the field
+     * @return a double field
+      */
+    public static Field doubleField(ConvertToDouble convert){
+        return new Field(DOUBLE, convert);
+    }
+
+    /**
+     * @return a boolean field using {@link JavaInp#BooleanPrimitiveConvert}
+      */
+    public static Field booleanField(){
+        return booleanField(JavaInp.BooleanPrimitiveConvert);
+    }
+
+    /**
+     * @param convert how to convert the field
+     * @return a boolean field
+      */
+    public static Field booleanField(ConvertToBoolean convert){
+        return new Field(BOOLEAN, convert);
+    }
+
+    /**
+     * A field converted by any {@link ConvertToType}. The built-in Integer, Double and Boolean converters become primitive fields.
+     * @param convert how to convert the field
+     * @return the field
+      */
+    public static Field field(ConvertToType<?> convert){
+        if (convert == JavaInp.IntegerConvert) {
+            return intField();
+        }
+        if (convert == JavaInp.DoubleConvert) {
+            return doubleField();
+        }
+        if (convert == JavaInp.BooleanConvert) {
+            return booleanField();
+        }
+        return new Field(OBJECT, convert);
+    }
+
+    /**
+     * @return the character between fields
+      */
+    public char getDelimiter(){
+        return delimiter;
+    }
+
+    /**
+     * @return number of fields in a record
+      */
+    public int size(){
+        return kinds.length;
+    }
+
+    /**
+     * @return a row to parse this schema's records into, reuse it for every line
+      */
+    public Row newRow(){
+        return new Row(this);
+    }
+
+    /**
+     * Parses a line into the row in one pass.
+     * @param line the line
+     * @param row a row from {@link #newRow()}
+     * @return whether every field was valid, see {@link Row#getInvalidField()} otherwise
+      */
+    public boolean parse(CharSequence line, Row row){
+        if (row.schema != this) {
+            throw new IllegalArgumentException("The row belongs to another schema");
+        }
+        ConvertResult<Object> result = row.result;
+        int length = line.length();
+        int start = 0;
+        for (int field = 0; field < kinds.length; field++) {
+            if (start > length) {
+                // the line ran out of fields
+                return row.invalid(field);
+            }
+            int end = start;
+            while (end < length && line.charAt(end) != delimiter) {
+                end ++;
+            }
+            if (!convertField(field, line, start, end, row, result)) {
+                return row.invalid(field);
+            }
+            start = end + 1;
+        }
+        if (start <= length) {
+            // more fields than the schema has
+            return row.invalid(kinds.length);
+        }
+        row.invalidField = -1;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean convertField(int field, CharSequence line, int start, int end, Row row, ConvertResult<Object> result){
+        switch (kinds[field]) {
+            case INT:
+                if (!((ConvertToInt) converters[field]).TryTransformInt(line, start, end, result)) {
+                    return false;
+                }
+                row.longs[field] = result.getInt();
+                return true;
+            case LONG:
+                if (!((ConvertToLong) converters[field]).TryTransformLong(line, start, end, result)) {
+                    return false;
+                }
+                row.longs[field] = result.getLong();
+                return true;
+            case DOUBLE:
+                if (!((ConvertToDouble) converters[field]).TryTransformDouble(line, start, end, result)) {
+                    return false;
+                }
+                row.doubles[field] = result.getDouble();
+                return true;
+            case BOOLEAN:
+                if (!((ConvertToBoolean) converters[field]).TryTransformBoolean(line, start, end, result)) {
+                    return false;
+                }
+                row.longs[field] = result.getBoolean()? 1 : 0;
+                return true;
+            default:
+                if (!((ConvertToType<Object>) converters[field]).TryTransform(line.subSequence(start, end).toString(), result)) {
+                    return false;
+                }
+                row.objects[field] = result.getValue();
+                return true;
+        }
+    }
+
+    /**
+     * <p>The converted fields of one record, reused for every line parsed into it. </p>
+     * <p>Only valid after a successful parse, fields of a rejected line may be partly filled. Not thread safe. </p>
+      */
+    public static final class Row {
+        private final RecordSchema schema;
+        private final long[] longs;
+        private final double[] doubles;
+        private final Object[] objects;
+        private final ConvertResult<Object> result = new ConvertResult<>();
+        private int invalidField = -1;
+
+        private Row(RecordSchema schema){
+            this.schema = schema;
+            longs = new long[schema.kinds.length];
+            doubles = new double[schema.kinds.length];
+            objects = new Object[schema.kinds.length];
+        }
+
+        private boolean invalid(int field){
+            invalidField = field;
+            return false;
+        }
+
+        private void check(int field, int kind){
+            if (schema.kinds[field] != kind) {
+                throw new IllegalArgumentException("Field " + field + " isn't that type");
+            }
+        }
+
+        /**
+         * @return the schema of this row
+          */
+        public RecordSchema getSchema(){
+            return schema;
+        }
+
+        /**
+         * @return index of the field that made the last line invalid, the schema's size if the line had too many fields,
+         *  -1 if the last line was valid
+          */
+        public int getInvalidField(){
+            return invalidField;
+        }
+
+        /**
+         * @param field index of an int field
+         * @return its value
+          */
+        public int getInt(int field){
+            check(field, INT);
+            return (int) longs[field];
+        }
+
+        /**
+         * @param field index of a long field
+         * @return its value
+          */
+        public long getLong(int field){
+            check(field, LONG);
+            return longs[field];
+        }
+
+        /**
+         * @param field index of a double field
+         * @return its value
+          */
+        public double getDouble(int field){
+            check(field, DOUBLE);
+            return doubles[field];
+        }
+
+        /**
+         * @param field index of a boolean field
+         * @return its value
+          */
+        public boolean getBoolean(int field){
+            check(field, BOOLEAN);
+            return longs[field] != 0;
+        }
+
+        /**
+         * @param field index of any field
+         * @return its value, primitives are boxed
+          */
+        public Object get(int field){
+            switch (schema.kinds[field]) {
+                case INT:
+                    return getInt(field);
+                case LONG:
+                    return getLong(field);
+                case DOUBLE:
+                    return getDouble(field);
+                case BOOLEAN:
+                    return getBoolean(field);
+                default:
+                    return objects[field];
+            }
+        }
+
+        /**
+         * Copies the fields into a new array, boxing primitives.
+         * @return the values
+          */
+        public Object[] toArray(){
+            Object[] values = new Object[longs.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = get(i);
+            }
+            return values;
+        }
+
+        @Override
+        public String toString(){
+            return (invalidField >= 0)? "Row[invalid field " + invalidField + "]" : "Row" + Arrays.toString(toArray());
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package io.github.ethan_stark.input;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * <p>An immutable, precompiled set of responses for the validateInput methods. </p>
+ * <p>Build it once and reuse it, lookups are O(1) for exact and case insensitive sets
+ * and O(input length) for prefix sets, without allocating. </p>
+ * <p>Matching works on any {@link CharSequence}, so line views can be checked without making a String. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public abstract class ResponseSet {
+
+    /** A set with no responses, treated like an empty list by validateInput.  */
+    public final static ResponseSet EMPTY = new Hashed(new String[0], false);
+
+    /** Lists up to this size are always checked directly, hashing them costs more than it saves.  */
+    final static int SMALL_LIST = 8;
+
+    private ResponseSet(){}
+
+    /**
+     * Creates a set matching the given responses exactly, like {@link List#contains(Object)}.
+     * @param responses the responses, null is treated as empty
+     * @return the compiled set
+      */
+    public static ResponseSet of(Collection<String> responses){
+        if (responses == null || responses.isEmpty()) {
+            return EMPTY;
+        }
+        return new Hashed(responses.toArray(new String[0]), false);
+    }
+
+    /**
+     * <p>Matches the given list exactly without compiling it up front, for the validateInput overloads taking a {@link List}. </p>
+     * <p>The first lookup checks the list directly, like {@link List#contains(Object)}.
+     * A list larger than {@link #SMALL_LIST} is only compiled if it is checked again, when a prompt is asked more than once.
+     * Not thread safe, it is meant for a single call. </p>
+     * @param responses the responses, null is treated as empty
+     * @return the set, backed by the list
+      */
+    static ResponseSet ofList(List<String> responses){
+        if (responses == null || responses.isEmpty()) {
+            return EMPTY;
+        }
+        return new Listed(responses);
+    }
+
+    /**
+     * Creates a set matching the given responses exactly.
+     * @param responses the responses
+     * @return the compiled set
+      */
+    public static ResponseSet of(String... responses){
+        return of(Arrays.asList(responses));
+    }
+
+    /**
+     * Creates a set matching the given responses ignoring case, like {@link String#equalsIgnoreCase(String)}.
+     * @param responses the responses, null is treated as empty
+     * @return the compiled set
+      */
+    public static ResponseSet ignoringCase(Collection<String> responses){
+        if (responses == null || responses.isEmpty()) {
+            return EMPTY;
+        }
+        return new Hashed(responses.toArray(new String[0]), true);
+    }
+
+    /**
+     * Creates a set matching any input that starts with one of the given prefixes.
+     * @param prefixes the prefixes, null is treated as empty
+     * @param ignoreCase whether to compare characters ignoring case
+     * @return the compiled set
+      */
+    public static ResponseSet prefixes(Collection<String> prefixes, boolean ignoreCase){
+        if (prefixes == null || prefixes.isEmpty()) {
+            return EMPTY;
+        }
+        return new Trie(prefixes, ignoreCase);
+    }
+
+    /**
+     * Checks if the input matches the set.
+     * @param input the users input
+     * @return whether it is in the set
+      */
+    public abstract boolean contains(CharSequence input);
+
+    /**
+     * @return the number of responses in the set
+      */
+    public abstract int size();
+
+    /**
+     * @return whether the set has no responses
+      */
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * <p>Finds the response an input matches, so equal answers can share the set's instance instead of each being a new String. </p>
+     * <p>Sets ignoring case give their own spelling of the response. </p>
+     * @param input the input to look up
+     * @return the response as it was given to the set, or null if the input isn't in the set or the set matches by prefix
+      */
+    public String find(CharSequence input){
+        return null;
+    }
+
+    /**
+     * Folds a character so equal folds mean {@link String#equalsIgnoreCase(String)} would match them.
+      */
+    static char fold(char c){
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Open addressing hash table of the responses.
+      */
+    private static final class Hashed extends ResponseSet {
+
+        private final String[] table;
+        private final int[] hashes;
+        private final int mask;
+        private final int size;
+        private final boolean ignoreCase;
+
+        Hashed(String[] responses, boolean ignoreCase){
+            this.ignoreCase = ignoreCase;
+            int capacity = Integer.highestOneBit(Math.max(1, responses.length) * 2 + 1) * 2;
+            table = new String[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+
+            int count = 0;
+            for (String response : responses) {
+                if (response == null || contains(response)) {
+                    continue;
+                }
+                int hash = hash(response);
+                int slot = spread(hash) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = response;
+                hashes[slot] = hash;
+                count ++;
+            }
+            size = count;
+        }
+
+        private int hash(CharSequence input){
+            if (!ignoreCase && input instanceof String) {
+                return input.hashCode();
+            }
+            int h = 0;
+            for (int i = 0; i < input.length(); i++) {
+                char c = input.charAt(i);
+                h = 31 * h + (ignoreCase ? fold(c) : c);
+            }
+            return h;
+        }
+
+        private static int spread(int h){
+            return h ^ (h >>> 16);
+        }
+
+        private boolean matches(String response, CharSequence input){
+            if (response.length() != input.length()) {
+                return false;
+            }
+            for (int i = 0; i < response.length(); i++) {
+                char a = response.charAt(i);
+                char b = input.charAt(i);
+                if (a != b && (!ignoreCase || fold(a) != fold(b))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean contains(CharSequence input){
+            return find(input) != null;
+        }
+
+        @Override
+        public String find(CharSequence input){
+            if (input == null) {
+                return null;
+            }
+            int hash = hash(input);
+            for (int slot = spread(hash) & mask; table[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && matches(table[slot], input)) {
+                    return table[slot];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int size(){
+            return size;
+        }
+    }
+
+    /**
+     * Checks a list directly, compiling it only once a large list is checked a second time.
+      */
+    private static final class Listed extends ResponseSet {
+
+        private final List<String> responses;
+        private ResponseSet compiled;
+        private boolean checked;
+
+        Listed(List<String> responses){
+            this.responses = responses;
+        }
+
+        @Override
+        public boolean contains(CharSequence input){
+            return find(input) != null;
+        }
+
+        @Override
+        public String find(CharSequence input){
+            if (input == null) {
+                return null;
+            }
+            if (compiled != null) {
+                return compiled.find(input);
+            }
+            if (checked && responses.size() > SMALL_LIST) {
+                // asked again, so the list is worth compiling
+                compiled = of(responses);
+                return compiled.find(input);
+            }
+            checked = true;
+            for (String response : responses) {
+                if (response != null && response.contentEquals(input)) {
+                    return response;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int size(){
+            return responses.size();
+        }
+    }
+
+    /**
+     * Prefix trie, each node keeps its child characters sorted for a binary search.
+      */
+    private static final class Trie extends ResponseSet {
+
+        private static final class Node {
+            char[] keys = new char[0];
+            Node[] children = new Node[0];
+            boolean terminal;
+        }
+
+        /** Mutable node used while building, frozen into a {@link Node}.  */
+        private static final class BuildNode {
+            final TreeMap<Character, BuildNode> children = new TreeMap<>();
+            boolean terminal;
+        }
+
+        private final Node root;
+        private final int size;
+        private final boolean ignoreCase;
+
+        Trie(Collection<String> prefixes, boolean ignoreCase){
+            this.ignoreCase = ignoreCase;
+            BuildNode build = new BuildNode();
+            int count = 0;
+            for (String prefix : prefixes) {
+                if (prefix == null) {
+                    continue;
+                }
+                BuildNode node = build;
+                for (int i = 0; i < prefix.length(); i++) {
+                    char c = ignoreCase ? fold(prefix.charAt(i)) : prefix.charAt(i);
+                    node = node.children.computeIfAbsent(c, k -> new BuildNode());
+                }
+                if (!node.terminal) {
+                    node.terminal = true;
+                    count ++;
+                }
+            }
+            root = freeze(build);
+            size = count;
+        }
+
+        private static Node freeze(BuildNode build){
+            Node node = new Node();
+            node.terminal = build.terminal;
+            node.keys = new char[build.children.size()];
+            node.children = new Node[build.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : build.children.entrySet()) {
+                node.keys[i] = entry.getKey();
+                node.children[i] = freeze(entry.getValue());
+                i ++;
+            }
+            return node;
+        }
+
+        @Override
+        public boolean contains(CharSequence input){
+            if (input == null) {
+                return false;
+            }
+            Node node = root;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == input.length()) {
+                    return false;
+                }
+                char c = ignoreCase ? fold(input.charAt(i)) : input.charAt(i);
+                int child = Arrays.binarySearch(node.keys, c);
+                if (child < 0) {
+                    return false;
+                }
+                node = node.children[child];
+            }
+            return true;
+        }
+
+        @Override
+        public int size(){
+            return size;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.ethan_stark.input;
+
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+
+
+/**
+ * The original {@link Scanner} backed line source, used by the {@link JavaInp} stream constructors.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+class ScannerLineSource implements LineSource {
+
+    /** Up to a chunk of a line, Scanner only buffers about this much while matching it.  */
+    private final static Pattern LINE_CHUNK = Pattern.compile("[^\\n\\r\\u2028\\u2029\\u0085]{0,4096}");
+    /** The line ends {@link Scanner#nextLine()} accepts.  */
+    private final static Pattern LINE_END = Pattern.compile("\\r\\n|[\\n\\r\\u2028\\u2029\\u0085]");
+
+    private final Scanner inpScanner;
+    private final StringBuilder kept = new StringBuilder();
+
+    /**
+     * Reads lines from the given stream.
+     * @param stream The input stream to use.
+      */
+    ScannerLineSource(InputStream stream){
+        inpScanner = new Scanner(stream);
+    }
+
+    @Override
+    public String nextLine(){
+        return inpScanner.nextLine();
+    }
+
+    /**
+     * Reads the line a chunk at a time, {@link Scanner#nextLine()} would buffer all of it.
+      */
+    @Override
+    public CharSequence nextLineView(int maxLength){
+        kept.setLength(0);
+        boolean tooLong = false;
+        boolean empty = true;
+        while (true) {
+            // matches nothing rather than throwing at the line end
+            inpScanner.skip(LINE_CHUNK);
+            String chunk = inpScanner.match().group();
+            if (chunk.isEmpty()) {
+                break;
+            }
+            empty = false;
+            if (!tooLong) {
+                tooLong = kept.length() + chunk.length() > maxLength;
+                if (tooLong) kept.setLength(0);
+                else kept.append(chunk);
+            }
+        }
+        try {
+            inpScanner.skip(LINE_END);
+        } catch (NoSuchElementException e) {
+            if (empty) {
+                throw new NoSuchElementException("No line found");
+            }
+            // last line has no terminator
+        }
+        return tooLong ? null : kept;
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        return inpScanner.hasNextLine();
+    }
+
+    @Override
+    public void close(){
+        inpScanner.close();
+    }
+}
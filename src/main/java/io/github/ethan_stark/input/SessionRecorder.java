@@ -0,0 +1,150 @@
+package io.github.ethan_stark.input;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * <p>Records a {@link JavaInp} session to a compact binary journal, for {@link SessionReplay} to play back. </p>
+ * <p>Set it with {@link JavaInp#setListener(InputListener)}. Every prompt, line read and validation outcome
+ * is appended as it happens, with the time since the previous record. A prompt's text is only written the first time,
+ * after that it is referred to by number. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class SessionRecorder implements InputListener, Closeable {
+
+    /** First bytes of every journal.  */
+    final static byte[] MAGIC = {'J', 'I', 'N', 'P'};
+    /** Format version written after the magic.  */
+    final static int VERSION = 1;
+
+    /** A prompt's text, numbered if there is still room in the prompt table.  */
+    final static int PROMPT_TEXT = 1;
+    /** A prompt by its number.  */
+    final static int PROMPT_NUMBER = 2;
+    /** A line read.  */
+    final static int LINE = 3;
+    /** An accepted answer.  */
+    final static int ACCEPTED = 4;
+    /** A rejected answer.  */
+    final static int REJECTED = 5;
+
+    /** Most prompts given numbers, later new prompts are written in full each time.  */
+    final static int MAX_NUMBERED_PROMPTS = 4096;
+
+    private final OutputStream out;
+    private final Map<String, Integer> promptNumbers = new HashMap<>();
+    private long lastRecord;
+
+    /**
+     * Records to a stream, which is closed by {@link #close()}.
+     * @param out where the journal goes
+     * @throws UncheckedIOException if the header can't be written
+      */
+    public SessionRecorder(OutputStream out){
+        if (out == null) {
+            throw new NullPointerException("out can't be null");
+        }
+        this.out = new BufferedOutputStream(out, 1 << 16);
+        try {
+            this.out.write(MAGIC);
+            this.out.write(VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastRecord = System.nanoTime();
+    }
+
+    /**
+     * Records to a file, replacing it if it exists.
+     * @param file where the journal goes
+     * @throws IOException if the file can't be opened
+      */
+    public SessionRecorder(Path file) throws IOException{
+        this(Files.newOutputStream(file));
+    }
+
+    @Override
+    public void prompted(String message){
+        Integer number = promptNumbers.get(message);
+        if (number != null) {
+            startRecord(PROMPT_NUMBER);
+            writeVarLong(number);
+            return;
+        }
+        if (promptNumbers.size() < MAX_NUMBERED_PROMPTS) {
+            promptNumbers.put(message, promptNumbers.size());
+        }
+        startRecord(PROMPT_TEXT);
+        writeText(message);
+    }
+
+    @Override
+    public void lineRead(CharSequence line){
+        startRecord(LINE);
+        writeText(line.toString());
+    }
+
+    @Override
+    public void validated(boolean accepted){
+        startRecord(accepted ? ACCEPTED : REJECTED);
+    }
+
+    private void startRecord(int type){
+        long now = System.nanoTime();
+        write(type);
+        writeVarLong(now - lastRecord);
+        lastRecord = now;
+    }
+
+    private void writeText(String text){
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a non-negative number seven bits at a time, low bits first.
+      */
+    private void writeVarLong(long value){
+        while ((value & ~0x7FL) != 0) {
+            write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    private void write(int b){
+        try {
+            out.write(b);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out buffered records.
+     * @throws IOException if the stream fails
+      */
+    public void flush() throws IOException{
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException{
+        out.close();
+    }
+}
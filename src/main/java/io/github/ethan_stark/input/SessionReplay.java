@@ -0,0 +1,440 @@
+package io.github.ethan_stark.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * <p>Plays back a journal made by {@link SessionRecorder} at full speed, and checks the replayed session against it. </p>
+ * <p>Give the program a {@link JavaInp} reading {@link #input()} and with this replay as its listener.
+ * The recorded lines are fed back without pauses, while each prompt and validation outcome of the replayed session
+ * is compared with the recorded one. {@link #report()} then gives the throughput, the time spent on each prompt
+ * and every place the sessions differ. </p>
+ * <pre>{@code
+ * SessionReplay replay = SessionReplay.load(journal);
+ * JavaInp inp = new JavaInp(replay.input());
+ * inp.setListener(replay);
+ * inp.setPromptsSuppressed(true);
+ * program.run(inp);
+ * System.out.println(replay.report());
+ * }</pre>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class SessionReplay implements InputListener {
+
+    /** Most divergences kept in a report, later ones are only counted.  */
+    public final static int MAX_KEPT_DIVERGENCES = 1000;
+
+    private final static String OTHER_PROMPTS = "(other prompts)";
+
+    /**
+     * A place where the replayed session differs from the recording.
+      */
+    public static final class Divergence {
+        private final long position;
+        private final String expected;
+        private final String actual;
+
+        Divergence(long position, String expected, String actual){
+            this.position = position;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * @return number of prompts and outcomes before this one, starting at 0
+          */
+        public long getPosition(){
+            return position;
+        }
+
+        /**
+         * @return what the recording has here
+          */
+        public String getExpected(){
+            return expected;
+        }
+
+        /**
+         * @return what the replayed session did
+          */
+        public String getActual(){
+            return actual;
+        }
+
+        @Override
+        public String toString(){
+            return "at " + position + " expected " + expected + " but was " + actual;
+        }
+    }
+
+    /**
+     * What happened during a replay.
+      */
+    public static final class Report {
+        private final long lines;
+        private final long prompts;
+        private final long outcomes;
+        private final long elapsedNanos;
+        private final long recordedNanos;
+        private final Map<String, InputMetrics.HistogramSnapshot> promptLatencies;
+        private final List<Divergence> divergences;
+        private final long divergenceCount;
+
+        Report(long lines, long prompts, long outcomes, long elapsedNanos, long recordedNanos,
+                Map<String, InputMetrics.HistogramSnapshot> promptLatencies, List<Divergence> divergences, long divergenceCount){
+            this.lines = lines;
+            this.prompts = prompts;
+            this.outcomes = outcomes;
+            this.elapsedNanos = elapsedNanos;
+            this.recordedNanos = recordedNanos;
+            this.promptLatencies = promptLatencies;
+            this.divergences = divergences;
+            this.divergenceCount = divergenceCount;
+        }
+
+        /**
+         * @return lines read by the replayed session
+          */
+        public long getLines(){
+            return lines;
+        }
+
+        /**
+         * @return prompts asked by the replayed session
+          */
+        public long getPrompts(){
+            return prompts;
+        }
+
+        /**
+         * @return validation outcomes of the replayed session
+          */
+        public long getOutcomes(){
+            return outcomes;
+        }
+
+        /**
+         * @return time from the first to the last event of the replay
+          */
+        public long getElapsedNanos(){
+            return elapsedNanos;
+        }
+
+        /**
+         * @return how long the recorded session took
+          */
+        public long getRecordedNanos(){
+            return recordedNanos;
+        }
+
+        /**
+         * @return lines read per second of replay
+          */
+        public double getLinesPerSecond(){
+            return (elapsedNanos == 0)? 0 : lines * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return time from each prompt to the next one, by prompt text
+          */
+        public Map<String, InputMetrics.HistogramSnapshot> getPromptLatencies(){
+            return promptLatencies;
+        }
+
+        /**
+         * @return the first {@link SessionReplay#MAX_KEPT_DIVERGENCES} divergences
+          */
+        public List<Divergence> getDivergences(){
+            return divergences;
+        }
+
+        /**
+         * @return number of divergences found
+          */
+        public long getDivergenceCount(){
+            return divergenceCount;
+        }
+
+        /**
+         * @return whether the replay matched the recording
+          */
+        public boolean matches(){
+            return divergenceCount == 0;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("Replayed %d lines, %d prompts and %d outcomes in %.3f ms (%.0f lines/s, recorded session took %.3f ms), %d divergences",
+                lines, prompts, outcomes, elapsedNanos / 1e6, getLinesPerSecond(), recordedNanos / 1e6, divergenceCount);
+        }
+    }
+
+    /** Recorded prompts and outcomes, lines are only fed back.  */
+    private final byte[] expectedTypes;
+    private final String[] expectedPrompts;
+    private final int expectedCount;
+    private final byte[] input;
+    private final long recordedNanos;
+
+    private int cursor = 0;
+    private long lines = 0;
+    private long prompts = 0;
+    private long outcomes = 0;
+    private long startedAt = -1;
+    private long lastEventAt = -1;
+    private String pendingPrompt;
+    private long promptStartedAt;
+    private final Map<String, InputMetrics.Histogram> promptLatencies = new LinkedHashMap<>();
+    private final List<Divergence> divergences = new ArrayList<>();
+    private long divergenceCount = 0;
+
+    private SessionReplay(byte[] journal) throws IOException{
+        if (journal.length < SessionRecorder.MAGIC.length + 1
+                || !Arrays.equals(journal, 0, SessionRecorder.MAGIC.length, SessionRecorder.MAGIC, 0, SessionRecorder.MAGIC.length)) {
+            throw new IOException("Not a JavaInp session journal");
+        }
+        if (journal[SessionRecorder.MAGIC.length] != SessionRecorder.VERSION) {
+            throw new IOException("Unsupported journal version " + journal[SessionRecorder.MAGIC.length]);
+        }
+
+        Decoder decoder = new Decoder(journal, SessionRecorder.MAGIC.length + 1);
+        List<String> promptTable = new ArrayList<>();
+        ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+        byte[] types = new byte[64];
+        String[] texts = new String[64];
+        int count = 0;
+        long recorded = 0;
+
+        while (decoder.hasMore()) {
+            int type = decoder.readByte();
+            recorded += decoder.readVarLong();
+            String prompt = null;
+            switch (type) {
+                case SessionRecorder.PROMPT_TEXT:
+                    prompt = decoder.readText();
+                    if (promptTable.size() < SessionRecorder.MAX_NUMBERED_PROMPTS) {
+                        promptTable.add(prompt);
+                    }
+                    break;
+                case SessionRecorder.PROMPT_NUMBER:
+                    long number = decoder.readVarLong();
+                    if (number >= promptTable.size()) {
+                        throw new IOException("Unknown prompt number " + number);
+                    }
+                    prompt = promptTable.get((int) number);
+                    break;
+                case SessionRecorder.LINE:
+                    int length = (int) decoder.readVarLong();
+                    lineBytes.write(journal, decoder.take(length), length);
+                    lineBytes.write('\n');
+                    continue;
+                case SessionRecorder.ACCEPTED:
+                case SessionRecorder.REJECTED:
+                    break;
+                default:
+                    throw new IOException("Unknown record type " + type);
+            }
+            if (count == types.length) {
+                types = Arrays.copyOf(types, count * 2);
+                texts = Arrays.copyOf(texts, count * 2);
+            }
+            types[count] = (byte) ((prompt != null)? SessionRecorder.PROMPT_TEXT : type);
+            texts[count] = prompt;
+            count ++;
+        }
+        expectedTypes = types;
+        expectedPrompts = texts;
+        expectedCount = count;
+        input = lineBytes.toByteArray();
+        recordedNanos = recorded;
+    }
+
+    /**
+     * Loads a journal file.
+     * @param file the journal
+     * @return the replay
+     * @throws IOException if the file can't be read or isn't a valid journal
+      */
+    public static SessionReplay load(Path file) throws IOException{
+        return new SessionReplay(Files.readAllBytes(file));
+    }
+
+    /**
+     * Loads a journal from a stream, which is read to the end but not closed.
+     * @param in the journal
+     * @return the replay
+     * @throws IOException if the stream fails or isn't a valid journal
+      */
+    public static SessionReplay load(InputStream in) throws IOException{
+        return new SessionReplay(in.readAllBytes());
+    }
+
+    /**
+     * @return a new stream of the recorded lines, in UTF-8 with a {@code \n} after each
+      */
+    public InputStream input(){
+        return new ByteArrayInputStream(input);
+    }
+
+    @Override
+    public void prompted(String message){
+        long now = event();
+        prompts ++;
+        if (pendingPrompt != null) {
+            latencyOf(pendingPrompt).record(now - promptStartedAt);
+        }
+        pendingPrompt = message;
+        promptStartedAt = now;
+        expect(SessionRecorder.PROMPT_TEXT, message);
+    }
+
+    @Override
+    public void lineRead(CharSequence line){
+        event();
+        lines ++;
+    }
+
+    @Override
+    public void validated(boolean accepted){
+        event();
+        outcomes ++;
+        expect(accepted ? SessionRecorder.ACCEPTED : SessionRecorder.REJECTED, null);
+    }
+
+    private long event(){
+        long now = System.nanoTime();
+        if (startedAt < 0) {
+            startedAt = now;
+        }
+        lastEventAt = now;
+        return now;
+    }
+
+    private InputMetrics.Histogram latencyOf(String prompt){
+        InputMetrics.Histogram histogram = promptLatencies.get(prompt);
+        if (histogram == null) {
+            String key = (promptLatencies.size() < SessionRecorder.MAX_NUMBERED_PROMPTS)? prompt : OTHER_PROMPTS;
+            histogram = promptLatencies.computeIfAbsent(key, ignored -> new InputMetrics.Histogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Compares an event of the replayed session with the next recorded one.
+      */
+    private void expect(int type, String prompt){
+        String expected = (cursor < expectedCount)? describe(expectedTypes[cursor], expectedPrompts[cursor]) : "end of journal";
+        boolean same = cursor < expectedCount && expectedTypes[cursor] == type
+            && (prompt == null || prompt.equals(expectedPrompts[cursor]));
+        if (!same) {
+            divergenceCount ++;
+            if (divergences.size() < MAX_KEPT_DIVERGENCES) {
+                divergences.add(new Divergence(cursor, expected, describe(type, prompt)));
+            }
+        }
+        cursor ++;
+    }
+
+    private static String describe(int type, String prompt){
+        switch (type) {
+            case SessionRecorder.PROMPT_TEXT:
+                return "prompt \"" + prompt + "\"";
+            case SessionRecorder.ACCEPTED:
+                return "accepted";
+            default:
+                return "rejected";
+        }
+    }
+
+    /**
+     * Ends the replay and reports on it, call once the replayed session is over.
+     * Recorded prompts or outcomes the session never reached count as divergences.
+     * @return the report
+      */
+    public Report report(){
+        if (pendingPrompt != null) {
+            latencyOf(pendingPrompt).record(lastEventAt - promptStartedAt);
+            pendingPrompt = null;
+        }
+        while (cursor < expectedCount) {
+            divergenceCount ++;
+            if (divergences.size() < MAX_KEPT_DIVERGENCES) {
+                divergences.add(new Divergence(cursor, describe(expectedTypes[cursor], expectedPrompts[cursor]), "end of session"));
+            }
+            cursor ++;
+        }
+
+        Map<String, InputMetrics.HistogramSnapshot> latencies = new LinkedHashMap<>();
+        promptLatencies.forEach((prompt, histogram) -> latencies.put(prompt, histogram.snapshot()));
+        long elapsed = (startedAt < 0)? 0 : lastEventAt - startedAt;
+        return new Report(lines, prompts, outcomes, elapsed, recordedNanos,
+            Collections.unmodifiableMap(latencies), Collections.unmodifiableList(new ArrayList<>(divergences)), divergenceCount);
+    }
+
+    /**
+     * Reads the fields of a journal.
+      */
+    private static final class Decoder {
+        private final byte[] bytes;
+        private int position;
+
+        Decoder(byte[] bytes, int position){
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        boolean hasMore(){
+            return position < bytes.length;
+        }
+
+        int readByte() throws IOException{
+            if (position >= bytes.length) {
+                throw new IOException("Journal ends in the middle of a record");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() throws IOException{
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed number in journal");
+        }
+
+        /**
+         * Skips {@code length} bytes.
+         * @return where they start
+          */
+        int take(int length) throws IOException{
+            if (length < 0 || length > bytes.length - position) {
+                throw new IOException("Journal ends in the middle of a record");
+            }
+            int start = position;
+            position += length;
+            return start;
+        }
+
+        String readText() throws IOException{
+            int length = (int) readVarLong();
+            return new String(bytes, take(length), length, StandardCharsets.UTF_8);
+        }
+    }
+}
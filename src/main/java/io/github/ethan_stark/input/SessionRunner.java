@@ -0,0 +1,214 @@
+package io.github.ethan_stark.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * <p>Runs many independent input sessions at once, each with its own {@link JavaInp}. </p>
+ * <p>{@link #virtualThreads()} gives every session a virtual thread when the JVM has them (Java 21+),
+ * so thousands of blocked sessions share a few carrier threads. Older JVMs fall back to a cached pool of daemon threads. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class SessionRunner implements AutoCloseable {
+
+    /**
+     * The work done for one session.
+      */
+    public static interface Session {
+
+        /**
+         * Runs the session, the {@code JavaInp} is closed afterwards.
+         * @param inp input for this session, prompts go back to the client
+         * @throws Exception if the session fails
+          */
+        public void run(JavaInp inp) throws Exception;
+    }
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    /**
+     * Runs sessions on the given executor.
+     * @param executor runs one task per session
+      */
+    public SessionRunner(ExecutorService executor){
+        this(executor, false);
+    }
+
+    private SessionRunner(ExecutorService executor, boolean virtual){
+        if (executor == null) {
+            throw new NullPointerException("executor can't be null");
+        }
+        this.executor = executor;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Runs every session on its own virtual thread, or a daemon thread if the JVM has no virtual threads.
+     * @return the runner
+      */
+    public static SessionRunner virtualThreads(){
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        if (virtualExecutor != null) {
+            return new SessionRunner(virtualExecutor, true);
+        }
+        return new SessionRunner(newDaemonExecutor(), false);
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which only exists on Java 21 and later.
+     * @return the executor, or null if unavailable
+      */
+    private static ExecutorService newVirtualThreadExecutor(){
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newDaemonExecutor(){
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "javainp-session-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The executor used by {@link JavaInp#validateInputAsync} when none is given,
+     * virtual threads when available.
+     * @return the shared executor
+      */
+    static ExecutorService defaultExecutor(){
+        ExecutorService executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (SessionRunner.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = newVirtualThreadExecutor();
+                    defaultExecutor = executor = (executor != null)? executor : newDaemonExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @return whether sessions run on virtual threads
+      */
+    public boolean usesVirtualThreads(){
+        return virtual;
+    }
+
+    /**
+     * @return number of sessions currently running
+      */
+    public int activeSessions(){
+        return activeSessions.get();
+    }
+
+    /**
+     * Starts a session reading lines from {@code in} and writing prompts to {@code out}.
+     * Prompts are batched and flushed before each read. Both streams are closed when the session ends.
+     * @param in where the client's lines come from
+     * @param out where prompts and error messages go
+     * @param charset charset of both streams
+     * @param session the work to do
+     * @return completes when the session ends
+      */
+    public CompletableFuture<Void> start(InputStream in, OutputStream out, Charset charset, Session session){
+        activeSessions.incrementAndGet();
+        try {
+            return runSession(in, out, charset, session);
+        } catch (RuntimeException e) {
+            // rejected by a closed executor
+            activeSessions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> runSession(InputStream in, OutputStream out, Charset charset, Session session){
+        return CompletableFuture.runAsync(() -> {
+            try {
+                JavaInp inp = new JavaInp(new BufferedLineReader(in, charset));
+                inp.setOutput(PromptSink.of(out, charset, PromptSink.FlushPolicy.BEFORE_READ));
+                try {
+                    session.run(inp);
+                } finally {
+                    // flushes the last output, then closes the input side
+                    inp.close();
+                    out.close();
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Session failed", e);
+            } finally {
+                activeSessions.decrementAndGet();
+            }
+        }, executor);
+    }
+
+    /**
+     * Starts a session over a connected socket, which is closed when the session ends.
+     * @param socket the client connection
+     * @param charset charset the client uses
+     * @param session the work to do
+     * @return completes when the session ends
+     * @throws IOException if the socket streams can't be opened, the socket is closed
+     * @throws java.util.concurrent.RejectedExecutionException if the runner is closed, the socket is closed
+      */
+    public CompletableFuture<Void> start(Socket socket, Charset charset, Session session) throws IOException{
+        CompletableFuture<Void> running;
+        try {
+            running = start(socket.getInputStream(), socket.getOutputStream(), charset, session);
+        } catch (IOException | RuntimeException e) {
+            // no session will close it
+            closeQuietly(socket);
+            throw e;
+        }
+        return running.whenComplete((ignored, error) -> closeQuietly(socket));
+    }
+
+    private static void closeQuietly(Socket socket){
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already finished with it
+        }
+    }
+
+    /**
+     * Stops accepting sessions and waits for running ones to end.
+      */
+    @Override
+    public void close(){
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for sessions
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.ethan_stark.input;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <p>A bounded pool of answer Strings, so open-ended answers that repeat can share one instance. </p>
+ * <p>The pool is a fixed size table with one String per slot, looked up straight from a line view, so an answer
+ * already in the pool costs no new String. A new answer replaces whatever was in its slot, which keeps the pool's memory
+ * fixed, frequent answers soon take their slots back. Long answers rarely repeat and aren't pooled. </p>
+ * <p>Safe to share between threads without locking, a race at worst misses a chance to share an instance. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class StringPool {
+
+    /** Slots in a pool made with {@link #StringPool()}.  */
+    public final static int DEFAULT_CAPACITY = 4096;
+    /** Longest answer pooled by a pool made with {@link #StringPool()}.  */
+    public final static int DEFAULT_MAX_LENGTH = 64;
+
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a pool with {@link #DEFAULT_CAPACITY} slots, pooling answers up to {@link #DEFAULT_MAX_LENGTH} characters.
+      */
+    public StringPool(){
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a pool.
+     * @param capacity number of slots, rounded up to a power of two
+     * @param maxLength longest answer to pool
+      */
+    public StringPool(int capacity, int maxLength){
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength can't be negative");
+        }
+        table = new String[(capacity == 1)? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        mask = table.length - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Finds a pooled String equal to the characters.
+     * @param chars the characters to look up
+     * @return the pooled instance, or null if there isn't one
+      */
+    public String find(CharSequence chars){
+        if (chars.length() > maxLength) {
+            return null;
+        }
+        int hash = hash(chars);
+        String pooled = table[slot(hash)];
+        if (pooled != null && pooled.hashCode() == hash && pooled.contentEquals(chars)) {
+            hits.increment();
+            return pooled;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the pooled String equal to the characters, pooling a new one if there isn't one.
+     * @param chars the characters to look up
+     * @return the pooled instance, or a new String
+      */
+    public String canonical(CharSequence chars){
+        String pooled = find(chars);
+        if (pooled != null) {
+            return pooled;
+        }
+        String made = chars.toString();
+        add(made);
+        return made;
+    }
+
+    /**
+     * Pools a String, replacing whatever was in its slot.
+     * @param value the String to pool, ignored if longer than the pools max length
+      */
+    void add(String value){
+        misses.increment();
+        if (value.length() <= maxLength) {
+            table[slot(value.hashCode())] = value;
+        }
+    }
+
+    /**
+     * Same hash as {@link String#hashCode()}, without making the String.
+      */
+    private static int hash(CharSequence chars){
+        if (chars instanceof String) {
+            return chars.hashCode();
+        }
+        int h = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h;
+    }
+
+    private int slot(int hash){
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Roughly how much heap a String of the given length takes, with compressed references and one byte per character.
+     * @param length the Strings length
+     * @return the estimated size in bytes
+      */
+    static long estimatedSize(int length){
+        // String object, then its byte array rounded up to 8 bytes
+        return 24 + ((16 + (long) length + 7) & ~7L);
+    }
+
+    /**
+     * @return lookups that found a pooled String
+      */
+    public long hitCount(){
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that had to make a new String
+      */
+    public long missCount(){
+        return misses.sum();
+    }
+
+    /**
+     * @return number of slots
+      */
+    public int capacity(){
+        return table.length;
+    }
+
+    /**
+     * Empties the pool, the counts are kept.
+      */
+    public void clear(){
+        Arrays.fill(table, null);
+    }
+}
@@ -0,0 +1,319 @@
+package io.github.ethan_stark.input;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * <p>A line source that can give up waiting, for sources such as sockets and pipes that may stall. </p>
+ * <p>Timed reads are served by one daemon reader thread per source, started by the first timed read and reused by the next ones.
+ * It reads a line only when one is asked for, nothing is read ahead. A caller that times out leaves the line it was waiting for
+ * to the next read, it is never lost or split, but the reader stays blocked in the source until that line comes.
+ * Once idle for {@link #READER_KEEP_ALIVE_MILLIS} the reader ends, so a source that is no longer timed costs no thread. </p>
+ * <p>Untimed reads, {@link #nextLineView()} included, go straight to the wrapped source on the callers thread
+ * when no line is pending and the reader isn't reading, so they keep the sources speed and its line views. </p>
+ * <p>Callers wait on a {@link ReentrantLock} rather than a monitor, so a virtual thread waiting for a line doesn't pin its carrier. </p>
+ * <p>Like other sources, only one thread reads from it at a time. {@link JavaInp} wraps its source in one the first time
+ * a timed method is used. </p>
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public class TimedLineSource implements LineSource {
+
+    /** How long the reader waits for another timed read before it ends.  */
+    public final static long READER_KEEP_ALIVE_MILLIS = 10_000;
+
+    private final LineSource source;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a line is asked for, or the source is closed.  */
+    private final Condition wanted = lock.newCondition();
+    /** Signalled when the reader answers, or the source is closed.  */
+    private final Condition answered = lock.newCondition();
+    /** The reader, running or idle, null once it has ended.  */
+    private Thread reader;
+    private long readersStarted;
+    /** A line has been asked for and the reader hasn't answered yet.  */
+    private boolean requested;
+    /** A line read for a caller and not taken yet, possibly because that caller gave up.  */
+    private String pending;
+    private boolean ended;
+    private RuntimeException failure;
+    private boolean closed;
+
+    /**
+     * Wraps a source, which must not be read from anywhere else afterwards.
+     * @param source the source to read from
+      */
+    public TimedLineSource(LineSource source){
+        if (source == null) {
+            throw new NullPointerException("source can't be null");
+        }
+        this.source = source;
+    }
+
+    /**
+     * Gets the next line, waiting at most the given time for it.
+     * @param timeout longest time to wait, zero or less only takes a line that is already read
+     * @param unit unit of the timeout
+     * @return the next line, or null if none came in time or the thread was interrupted
+     * @throws NoSuchElementException if there are no lines left
+      */
+    public String nextLine(long timeout, TimeUnit unit){
+        return take(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    @Override
+    public String nextLine(){
+        lock.lock();
+        try {
+            if (!readsDirectly()) {
+                return take(0, false);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return source.nextLine();
+    }
+
+    @Override
+    public CharSequence nextLineView(){
+        lock.lock();
+        try {
+            if (!readsDirectly()) {
+                return take(0, false);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return source.nextLineView();
+    }
+
+    @Override
+    public CharSequence nextLineView(int maxLength){
+        lock.lock();
+        try {
+            if (!readsDirectly()) {
+                String line = take(0, false);
+                return (line.length() <= maxLength)? line : null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return source.nextLineView(maxLength);
+    }
+
+    @Override
+    public boolean hasNextLine(){
+        lock.lock();
+        try {
+            if (!readsDirectly()) {
+                awaitLine(0, false);
+                return pending != null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return source.hasNextLine();
+    }
+
+    /**
+     * Checks if an untimed read can go straight to the source, holding the lock.
+     * @return false if a line is pending or the reader is in the source
+      */
+    private boolean readsDirectly(){
+        if (closed) {
+            throw new IllegalStateException("Source closed");
+        }
+        return pending == null && !requested && !ended && failure == null;
+    }
+
+    /**
+     * @return whether the reader thread is in the source, reading a line that was asked for
+      */
+    boolean readerReading(){
+        lock.lock();
+        try {
+            return requested;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return whether a reader thread is running, reading or idle
+      */
+    boolean readerRunning(){
+        lock.lock();
+        try {
+            return reader != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of reader threads started so far
+      */
+    long readersStarted(){
+        lock.lock();
+        try {
+            return readersStarted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String take(long deadline, boolean timed){
+        lock.lock();
+        try {
+            if (!awaitLine(deadline, timed)) {
+                return null;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (pending == null) {
+                throw new NoSuchElementException("No line found");
+            }
+            String line = pending;
+            pending = null;
+            return line;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Asks the reader for a line if there isn't one, then waits until there is a line, the end or a failure.
+     * Called holding the lock.
+     * @return false if the deadline passed or the thread was interrupted first
+      */
+    private boolean awaitLine(long deadline, boolean timed){
+        if (pending == null && !ended && failure == null && !requested) {
+            if (closed) {
+                throw new IllegalStateException("Source closed");
+            }
+            requested = true;
+            if (reader == null) {
+                reader = new Thread(this::readLines, "JavaInp-timed-reader");
+                reader.setDaemon(true);
+                reader.start();
+                readersStarted ++;
+            }
+            else {
+                wanted.signal();
+            }
+        }
+        while (pending == null && !ended && failure == null) {
+            if (closed) {
+                throw new IllegalStateException("Source closed");
+            }
+            if (!timed) {
+                // untimed reads block like any other source
+                answered.awaitUninterruptibly();
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                answered.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                // timed reads give up
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Body of the reader thread, reads each line asked for until the source ends, is closed, or no line is asked for in a while.
+      */
+    private void readLines(){
+        while (waitForRequest()) {
+            String line = null;
+            RuntimeException failed = null;
+            try {
+                if (source.hasNextLine()) {
+                    line = source.nextLine();
+                }
+            } catch (RuntimeException e) {
+                failed = e;
+            }
+            lock.lock();
+            try {
+                requested = false;
+                if (failed != null) {
+                    failure = closed ? null : failed;
+                }
+                else if (line == null) {
+                    ended = true;
+                }
+                else {
+                    pending = line;
+                }
+                answered.signalAll();
+                if (ended || failure != null || closed) {
+                    reader = null;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits on the reader thread until a line is asked for.
+     * @return false if the reader should end, in which case it is no longer the reader
+      */
+    private boolean waitForRequest(){
+        lock.lock();
+        try {
+            long idle = TimeUnit.MILLISECONDS.toNanos(READER_KEEP_ALIVE_MILLIS);
+            while (!requested && !closed) {
+                if (idle <= 0) {
+                    reader = null;
+                    return false;
+                }
+                try {
+                    idle = wanted.awaitNanos(idle);
+                } catch (InterruptedException e) {
+                    // only close interrupts the reader, checked above
+                }
+            }
+            if (closed) {
+                reader = null;
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the wrapped source, which also wakes a reader blocked on it for most sources.
+      */
+    @Override
+    public void close(){
+        Thread blocked;
+        lock.lock();
+        try {
+            closed = true;
+            blocked = reader;
+            wanted.signalAll();
+            answered.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        source.close();
+        if (blocked != null) {
+            blocked.interrupt();
+        }
+    }
+}
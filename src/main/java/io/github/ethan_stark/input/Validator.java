@@ -0,0 +1,280 @@
+package io.github.ethan_stark.input;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+
+
+/**
+ * <p>A question compiled once and asked many times: message, error message, converter, response sets,
+ * ask limit, default and timeouts, fixed when it is built. </p>
+ * <p>Validators are immutable and can be shared between threads and {@link JavaInp}s. Asking one does no setup,
+ * it goes straight into the validation loop. Every {@code validateInput} overload is a wrapper around one. </p>
+ * <pre>{@code
+ * Validator<Integer> age = Validator.builder(JavaInp.IntegerConvert)
+ *                                   .message("Age? ").errorMessage("Not an age").askLimit(3).defaultValue(-1).build();
+ * int answer = age.validate(inp);
+ * }</pre>
+ * @param <T> The resulting type of the conversion.
+ * @author Ethan Stark-Hrynkiw
+ * @version 0.1
+  */
+public final class Validator<T> {
+
+    final String message;
+    final String errorMessage;
+    final ConvertToType<T> convert;
+    final ResponseSet validResponses;
+    final ResponseSet invalidResponses;
+    final int askLimit;
+    final T defaultValue;
+    /** Longest wait for each answer, {@code Long.MAX_VALUE} for no limit.  */
+    final long attemptNanos;
+    /** Longest time for the whole validation, {@code Long.MAX_VALUE} for no limit.  */
+    final long deadlineNanos;
+    final boolean timed;
+    /** Whether answers are Strings given as shared instances, see {@link #canonicalStrings(StringPool)}.  */
+    final boolean canonical;
+    /** Pool for canonical answers not in the valid responses, may be null.  */
+    final StringPool pool;
+
+    /**
+     * Used by the {@code validateInput} overloads, nulls mean the same as in them.
+      */
+    Validator(String message, String errorMessage, ConvertToType<T> convert, ResponseSet validResponses,
+              ResponseSet invalidResponses, int askLimit, T defaultValue, Duration attemptTimeout, Duration deadline){
+        this(message, errorMessage, convert, validResponses, invalidResponses, askLimit, defaultValue, attemptTimeout, deadline, false, null);
+    }
+
+    private Validator(String message, String errorMessage, ConvertToType<T> convert, ResponseSet validResponses,
+                      ResponseSet invalidResponses, int askLimit, T defaultValue, Duration attemptTimeout, Duration deadline,
+                      boolean canonical, StringPool pool){
+        if (convert == null) {
+            throw new NullPointerException("convert can't be null");
+        }
+        this.message = (message == null)? "" : message;
+        this.errorMessage = (errorMessage == null)? "" : errorMessage;
+        this.convert = convert;
+        this.validResponses = (validResponses == null)? ResponseSet.EMPTY : validResponses;
+        this.invalidResponses = (invalidResponses == null)? ResponseSet.EMPTY : invalidResponses;
+        this.askLimit = askLimit;
+        this.defaultValue = defaultValue;
+        this.attemptNanos = (attemptTimeout == null)? Long.MAX_VALUE : attemptTimeout.toNanos();
+        this.deadlineNanos = (deadline == null)? Long.MAX_VALUE : deadline.toNanos();
+        this.timed = attemptTimeout != null || deadline != null;
+        this.canonical = canonical;
+        this.pool = pool;
+    }
+
+    /**
+     * Starts building a validator.
+     * @param <T> The resulting type of the conversion.
+     * @param convert determins how to transform user input to type
+     * @return a builder with no message, the standard error message, no response sets, no ask limit and a null default
+      */
+    public static <T> Builder<T> builder(ConvertToType<T> convert){
+        return new Builder<>(convert);
+    }
+
+    /**
+     * <p>Starts building a validator for String answers that shares instances instead of making a String per answer. </p>
+     * <p>An answer in the valid responses is given as the set's own instance, see {@link ResponseSet#find(CharSequence)},
+     * other answers come from the pool. Lines are looked up straight from the source's line view,
+     * so an answer that is found never becomes a temporary String. Memory saved is counted in {@link InputMetrics}. </p>
+     * @param pool pool for answers that aren't in the valid responses, null to only share valid responses
+     * @return a builder like {@link #builder(ConvertToType)} with {@link JavaInp#StringConvert}
+      */
+    public static Builder<String> canonicalStrings(StringPool pool){
+        Builder<String> builder = new Builder<>(JavaInp.StringConvert);
+        builder.canonical = true;
+        builder.pool = pool;
+        return builder;
+    }
+
+    /**
+     * Gets the shared instance of an accepted answer of a canonical validator.
+     * @param line the answer, possibly a reused view
+     * @param metrics where to count a shared answer, may be null
+     * @return the shared instance, or a new String if there is none
+      */
+    @SuppressWarnings("unchecked")
+    T canonical(CharSequence line, InputMetrics metrics){
+        String shared = validResponses.find(line);
+        if (shared == null && pool != null) {
+            shared = pool.find(line);
+        }
+        if (shared == null) {
+            String made = line.toString();
+            if (pool != null) pool.add(made);
+            return (T) made;
+        }
+        if (metrics != null) metrics.recordCanonical(shared.length());
+        return (T) shared;
+    }
+
+    /**
+     * Asks the question until it gets a valid answer, the ask limit is reached or the deadline passes.
+     * @param inp where to ask
+     * @return the validated input, or the default
+      */
+    public T validate(JavaInp inp){
+        return inp.validateInput(this);
+    }
+
+    /**
+     * @return message shown to the user before input
+      */
+    public String getMessage(){
+        return message;
+    }
+
+    /**
+     * @return message shown if invalid input
+      */
+    public String getErrorMessage(){
+        return errorMessage;
+    }
+
+    /**
+     * @return how user input is transformed
+      */
+    public ConvertToType<T> getConvert(){
+        return convert;
+    }
+
+    /**
+     * @return number of times to ask, 0 or less for no limit
+      */
+    public int getAskLimit(){
+        return askLimit;
+    }
+
+    /**
+     * @return value given when no valid answer comes
+      */
+    public T getDefaultValue(){
+        return defaultValue;
+    }
+
+    /**
+     * Builds {@link Validator}s. Not thread safe, but the validators it builds are.
+     * @param <T> The resulting type of the conversion.
+      */
+    public static final class Builder<T> {
+        private final ConvertToType<T> convert;
+        private String message = "";
+        private String errorMessage = JavaInp.StandardErrorMsg;
+        private ResponseSet validResponses = ResponseSet.EMPTY;
+        private ResponseSet invalidResponses = ResponseSet.EMPTY;
+        private int askLimit = 0;
+        private T defaultValue;
+        private Duration attemptTimeout;
+        private Duration deadline;
+        private boolean canonical;
+        private StringPool pool;
+
+        private Builder(ConvertToType<T> convert){
+            if (convert == null) {
+                throw new NullPointerException("convert can't be null");
+            }
+            this.convert = convert;
+        }
+
+        /**
+         * @param message shown to the user before input
+         * @return this builder
+          */
+        public Builder<T> message(String message){
+            this.message = message;
+            return this;
+        }
+
+        /**
+         * @param errorMessage shown if invalid input
+         * @return this builder
+          */
+        public Builder<T> errorMessage(String errorMessage){
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        /**
+         * @param responses the only answers allowed, anything is allowed when empty
+         * @return this builder
+          */
+        public Builder<T> validResponses(ResponseSet responses){
+            this.validResponses = responses;
+            return this;
+        }
+
+        /**
+         * @param responses the only answers allowed, compiled with {@link ResponseSet#of(Collection)}
+         * @return this builder
+          */
+        public Builder<T> validResponses(Collection<String> responses){
+            return validResponses(ResponseSet.of(responses));
+        }
+
+        /**
+         * @param responses answers that aren't allowed
+         * @return this builder
+          */
+        public Builder<T> invalidResponses(ResponseSet responses){
+            this.invalidResponses = responses;
+            return this;
+        }
+
+        /**
+         * @param responses answers that aren't allowed, compiled with {@link ResponseSet#of(Collection)}
+         * @return this builder
+          */
+        public Builder<T> invalidResponses(Collection<String> responses){
+            return invalidResponses(ResponseSet.of(responses));
+        }
+
+        /**
+         * @param askLimit number of times to ask for input, no limit when 0 or less
+         * @return this builder
+          */
+        public Builder<T> askLimit(int askLimit){
+            this.askLimit = askLimit;
+            return this;
+        }
+
+        /**
+         * @param defaultValue used if the ask limit or deadline is surpased
+         * @return this builder
+          */
+        public Builder<T> defaultValue(T defaultValue){
+            this.defaultValue = defaultValue;
+            return this;
+        }
+
+        /**
+         * @param attemptTimeout longest wait for each answer, null for no limit
+         * @return this builder
+          */
+        public Builder<T> attemptTimeout(Duration attemptTimeout){
+            this.attemptTimeout = attemptTimeout;
+            return this;
+        }
+
+        /**
+         * @param deadline longest time for the whole validation, null for no limit
+         * @return this builder
+          */
+        public Builder<T> deadline(Duration deadline){
+            this.deadline = deadline;
+            return this;
+        }
+
+        /**
+         * @return a validator with the current settings, later changes to this builder don't affect it
+          */
+        public Validator<T> build(){
+            return new Validator<>(message, errorMessage, convert, validResponses, invalidResponses, askLimit, defaultValue,
+                                   attemptTimeout, deadline, canonical, pool);
+        }
+    }
+}
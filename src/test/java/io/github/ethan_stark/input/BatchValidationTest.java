@@ -0,0 +1,78 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link BatchValidation} reports the same outcomes as the interactive validateInput.
+ */
+public class BatchValidationTest
+{
+    static final String INPUT = "1\nx\n5\n-3\n\n7\r\n5";
+
+    /** Records outcomes as "n:value" and "n!line".  */
+    static class Recorder<T> implements BatchValidation.Handler<T> {
+        final List<String> outcomes = new ArrayList<>();
+
+        @Override
+        public synchronized void accepted(long lineNumber, T value)
+        {
+            outcomes.add(lineNumber + ":" + value);
+        }
+
+        @Override
+        public synchronized void rejected(long lineNumber, String line)
+        {
+            outcomes.add(lineNumber + "!" + line);
+        }
+    }
+
+    @Test
+    public void reportsEveryLineInOrder()
+    {
+        BatchValidation<Integer> batch = new BatchValidation<>(JavaInp.IntegerConvert, null, ResponseSet.of("5"));
+        List<String> expected = List.of("1:1", "2!x", "3!5", "4:-3", "5!", "6:7", "7!5");
+
+        Recorder<Integer> fromStream = new Recorder<>();
+        BatchValidation.Totals totals = batch.run(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8)), fromStream);
+        assertEquals(expected, fromStream.outcomes);
+        assertEquals(3, totals.getAccepted());
+        assertEquals(4, totals.getRejected());
+
+        Recorder<Integer> fromReader = new Recorder<>();
+        batch.run(new StringReader(INPUT), fromReader);
+        assertEquals(expected, fromReader.outcomes);
+
+        Recorder<Integer> fromLines = new Recorder<>();
+        batch.run(Stream.of(INPUT.split("\r?\n", -1)), fromLines);
+        assertEquals(expected, fromLines.outcomes);
+    }
+
+    @Test
+    public void parallelMatchesSequential()
+    {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            input.append(i % 7 == 0 ? "bad" + i : Double.toString(i / 3.0)).append('\n');
+        }
+        byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+        BatchValidation<Double> batch = new BatchValidation<>(JavaInp.DoubleConvert);
+
+        Recorder<Double> sequential = new Recorder<>();
+        batch.run(new ByteArrayInputStream(bytes), sequential);
+        for (int chunk : new int[] {1, 13, 4096}) {
+            Recorder<Double> parallel = new Recorder<>();
+            BatchValidation.Totals totals = batch.runParallel(new ByteArrayInputStream(bytes), parallel, 4, chunk);
+            assertEquals(sequential.outcomes, parallel.outcomes);
+            assertEquals(20000, totals.getLines());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.bytesOf;
+import static io.github.ethan_stark.input.TestInputs.quietInputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.PromptSink.FlushPolicy;
+
+/**
+ * Checks multi-line blocks are read to their terminator, within their limits.
+ */
+public class BlockInputTest
+{
+    private final StringWriter written = new StringWriter();
+
+    /** Sums a block of ints without keeping it.  */
+    private static final BlockInput.LineConvert<Integer> SUM = new BlockInput.LineConvert<Integer>() {
+        private int sum;
+
+        @Override
+        public void start()
+        {
+            sum = 0;
+        }
+
+        @Override
+        public boolean line(CharSequence line)
+        {
+            ConvertResult<Object> result = new ConvertResult<>();
+            if (!JavaInp.IntPrimitiveConvert.TryTransformInt(line, 0, line.length(), result)) {
+                return false;
+            }
+            sum += result.getInt();
+            return true;
+        }
+
+        @Override
+        public boolean finish(ConvertResult<Integer> result)
+        {
+            return result.accept(sum);
+        }
+    };
+
+    @Test
+    public void joinsLinesUpToTerminator()
+    {
+        JavaInp inp = quietInputOf("{\n  \"a\": 1\n}\nEND\nafter\n", written);
+        assertEquals("{\n  \"a\": 1\n}", inp.inputBlock("", BlockInput.until("END")));
+        assertEquals("after", inp.getNextLine());
+    }
+
+    @Test
+    public void blankLineAndEndOfInputEndBlocks()
+    {
+        JavaInp inp = quietInputOf("a\nb\n\nc", written);
+        BlockInput block = BlockInput.until("");
+        assertEquals("a\nb", inp.inputBlock("", block));
+        assertEquals("c", inp.inputBlock("", block));
+    }
+
+    @Test
+    public void oversizedBlockIsSkippedThenAskedAgain()
+    {
+        JavaInp inp = quietInputOf("aaaa\nbbbb\nEND\nok\nEND\n", written);
+        BlockInput block = BlockInput.until("END").limitedTo(8, 10);
+        assertEquals("ok", inp.validateBlock("", "too big", block, JavaInp.StringConvert, 0, null));
+        assertEquals("too big" + System.lineSeparator(), written.toString());
+    }
+
+    @Test
+    public void lineLimitGivesDefault()
+    {
+        JavaInp inp = quietInputOf("1\n2\n3\nEND\n4\n5\n6\nEND\n", written);
+        BlockInput block = BlockInput.until("END").limitedTo(1000, 2);
+        assertNull(inp.validateBlock("", "", block, JavaInp.StringConvert, 2, null));
+    }
+
+    @Test
+    public void convertsLineByLine()
+    {
+        JavaInp inp = quietInputOf("1\nx\n3\nEND\n1\n2\n3\nEND\n", written);
+        InputMetrics metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+        assertEquals(6, (int) inp.validateBlock("", "", BlockInput.until("END"), SUM, 3, -1));
+        assertEquals(1, metrics.getValidations());
+        assertEquals(1, metrics.getConverterRejections());
+    }
+
+    /** {@code length} bytes of {@code x} without holding them, then {@code rest}.  */
+    private static InputStream longLine(int length, String rest)
+    {
+        InputStream line = new InputStream() {
+            private int left = length;
+
+            @Override
+            public int read()
+            {
+                return (left-- > 0)? 'x' : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len)
+            {
+                if (left <= 0) {
+                    return -1;
+                }
+                int n = Math.min(len, left);
+                Arrays.fill(b, off, off + n, (byte) 'x');
+                left -= n;
+                return n;
+            }
+        };
+        return new SequenceInputStream(line, bytesOf(rest));
+    }
+
+    @Test
+    public void oneLineOverTheCapIsDroppedWhileRead()
+    {
+        BlockInput block = BlockInput.until("END").limitedTo(1000, 10);
+        String rest = "\nEND\n{\"ok\": true}\nEND\n";
+        int length = 2 * 1024 * 1024;
+
+        BufferedLineReader reader = new BufferedLineReader(longLine(length, rest), StandardCharsets.UTF_8, 64);
+        List<JavaInp> inputs = new ArrayList<>();
+        inputs.add(new JavaInp(reader));
+        inputs.add(new JavaInp(longLine(length, rest)));
+        inputs.add(new JavaInp(new ReaderLineSource(new InputStreamReader(longLine(length, rest), StandardCharsets.UTF_8))));
+        LineArena arena = new LineArena(Channels.newChannel(longLine(length, rest)), StandardCharsets.UTF_8, 64);
+        inputs.add(new JavaInp(arena));
+        for (JavaInp inp : inputs) {
+            inp.setPromptsSuppressed(true);
+            inp.setOutput(PromptSink.of(written, FlushPolicy.ALWAYS));
+            assertEquals("{\"ok\": true}", inp.validateBlock("", "", block, JavaInp.StringConvert, 0, null));
+        }
+        // the line was never held, so the buffer stayed near the cap
+        assertTrue(reader.bufferCapacity() < 16 * 1024);
+        assertTrue(arena.segmentSize() < 16 * 1024);
+    }
+
+    @Test
+    public void hookIsToldWhichLimitWasPassed()
+    {
+        List<String> rejected = new ArrayList<>();
+        List<String> reasons = new ArrayList<>();
+        JavaInp inp = new JavaInp(new BufferedLineReader(bytesOf("aaaa\nbbbb\nEND\n1\n2\n3\nEND\n"))) {
+            @Override
+            protected void onInvalidInput(JavaInp.InvalidInputException e)
+            {
+                rejected.add(e.getErroredInput());
+                reasons.add(e.getCause().getMessage());
+            }
+        };
+        inp.setPromptsSuppressed(true);
+        inp.setOutput(PromptSink.of(written, FlushPolicy.ALWAYS));
+        InputMetrics metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+        assertNull(inp.validateBlock("", "", BlockInput.until("END").limitedTo(8, 2), JavaInp.StringConvert, 2, null));
+        // the errored input is what was kept of each block, the limit passed is the cause
+        assertEquals(List.of("aaaa", "1\n2"), rejected);
+        assertEquals(List.of("Block over its limit of 8 characters", "Block over its limit of 2 lines"), reasons);
+        assertEquals(2, metrics.getAttempts());
+        // neither block reached the converter
+        assertNull(metrics.snapshot().getConversions().get(JavaInp.StringConvert.getClass().getName()));
+    }
+}
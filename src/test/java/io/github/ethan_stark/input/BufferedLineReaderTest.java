@@ -0,0 +1,70 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link BufferedLineReader} splits lines the same way {@link Scanner} does.
+ */
+public class BufferedLineReaderTest
+{
+    private static final String[] INPUTS = {
+        "", "\n", "a", "a\n", "a\nb", "a\r\nb\r\n", "a\rb\r", "\r\n\r\n", "\n\r", "a\r\r\nb",
+        "héllo wörld\nÜ\r\n", "long line that is much longer than the buffer\nx",
+    };
+
+    private static List<String> scannerLines(String input)
+    {
+        List<String> lines = new ArrayList<>();
+        Scanner sc = new Scanner(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), "UTF-8");
+        while (true) {
+            try {
+                lines.add(sc.nextLine());
+            } catch (NoSuchElementException e) {
+                return lines;
+            }
+        }
+    }
+
+    private static List<String> readerLines(String input, int bufferSize)
+    {
+        List<String> lines = new ArrayList<>();
+        BufferedLineReader reader = new BufferedLineReader(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, bufferSize);
+        while (true) {
+            try {
+                lines.add(reader.nextLine());
+            } catch (NoSuchElementException e) {
+                return lines;
+            }
+        }
+    }
+
+    @Test
+    public void matchesScanner()
+    {
+        for (String input : INPUTS) {
+            for (int size = 1; size <= 9; size++) {
+                assertEquals("input " + input.replace("\r", "\\r").replace("\n", "\\n") + " buffer " + size,
+                    scannerLines(input), readerLines(input, size));
+            }
+        }
+    }
+
+    @Test
+    public void validatesOnTopOfReader()
+    {
+        JavaInp inp = new JavaInp(new BufferedLineReader(
+            new ByteArrayInputStream("x\r\n7\n".getBytes(StandardCharsets.UTF_8))));
+        assertEquals(Integer.valueOf(7), inp.validateInput("", "", JavaInp.IntegerConvert, 0, null));
+        inp.close();
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.ethan_stark.input.CachingConverter.EvictionPolicy;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+import org.junit.Test;
+
+/**
+ * Checks the hits, misses and eviction of {@link CachingConverter}.
+ */
+public class CachingConverterTest
+{
+    @Test
+    public void cachesValuesAndRejections()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        CachingConverter<Integer> cache = new CachingConverter<>(inp -> {
+            calls.incrementAndGet();
+            return JavaInp.IntegerConvert.Transform(inp);
+        }, 2);
+        ConvertResult<Integer> result = new ConvertResult<>();
+
+        assertTrue(cache.TryTransform("7", result));
+        assertTrue(cache.TryTransform("7", result));
+        assertEquals(Integer.valueOf(7), result.getValue());
+        assertFalse(cache.TryTransform("x", result));
+        assertFalse(cache.TryTransform("x", result));
+        assertEquals(2, calls.get());
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.missCount());
+
+        // LRU keeps "x", the most recently used
+        cache.TryTransform("8", result);
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+        cache.TryTransform("x", result);
+        assertEquals(3, cache.hitCount());
+    }
+
+    /** Counts the inputs given to it, per input.  */
+    private static final class CountingConvert implements JavaInp.ConvertToType<Integer>
+    {
+        final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        @Override
+        public Integer Transform(String UserInp) throws InvalidInputException
+        {
+            calls.computeIfAbsent(UserInp, key -> new AtomicInteger()).incrementAndGet();
+            return JavaInp.IntegerConvert.Transform(UserInp);
+        }
+
+        int callsFor(String UserInp)
+        {
+            AtomicInteger count = calls.get(UserInp);
+            return (count == null)? 0 : count.get();
+        }
+    }
+
+    @Test
+    public void fifoDropsTheFirstCachedEvenIfUsed()
+    {
+        CountingConvert convert = new CountingConvert();
+        CachingConverter<Integer> cache = new CachingConverter<>(convert, 3, EvictionPolicy.FIFO);
+        ConvertResult<Integer> result = new ConvertResult<>();
+
+        cache.TryTransform("1", result);
+        cache.TryTransform("2", result);
+        cache.TryTransform("3", result);
+        // using "1" again doesn't move it back under FIFO
+        cache.TryTransform("1", result);
+        cache.TryTransform("4", result);
+        assertEquals(1, cache.evictionCount());
+        assertEquals(3, cache.size());
+
+        cache.TryTransform("2", result);
+        cache.TryTransform("3", result);
+        cache.TryTransform("4", result);
+        assertEquals(1, convert.callsFor("2"));
+        assertEquals(1, convert.callsFor("3"));
+        assertEquals(1, convert.callsFor("4"));
+
+        cache.TryTransform("1", result);
+        assertEquals(2, convert.callsFor("1"));
+        // bringing "1" back dropped "2", the oldest left
+        assertEquals(2, cache.evictionCount());
+        cache.TryTransform("2", result);
+        assertEquals(2, convert.callsFor("2"));
+        assertEquals(3, cache.evictionCount());
+    }
+
+    @Test
+    public void lruDropsTheLeastRecentlyUsed()
+    {
+        CountingConvert convert = new CountingConvert();
+        CachingConverter<Integer> cache = new CachingConverter<>(convert, 3);
+        ConvertResult<Integer> result = new ConvertResult<>();
+
+        cache.TryTransform("1", result);
+        cache.TryTransform("2", result);
+        cache.TryTransform("3", result);
+        cache.TryTransform("1", result);
+        cache.TryTransform("4", result);
+
+        cache.TryTransform("1", result);
+        assertEquals(1, convert.callsFor("1"));
+        cache.TryTransform("2", result);
+        assertEquals(2, convert.callsFor("2"));
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void evictionsCountedAtTheBound()
+    {
+        CachingConverter<Integer> cache = new CachingConverter<>(new CountingConvert(), 10, EvictionPolicy.FIFO);
+        ConvertResult<Integer> result = new ConvertResult<>();
+        for (int i = 0; i < 10; i++) {
+            cache.TryTransform(Integer.toString(i), result);
+        }
+        assertEquals(0, cache.evictionCount());
+        for (int i = 10; i < 25; i++) {
+            cache.TryTransform(Integer.toString(i), result);
+        }
+        assertEquals(15, cache.evictionCount());
+        assertEquals(10, cache.size());
+
+        // clearing keeps the counters, refilling up to the bound drops nothing
+        cache.clear();
+        assertEquals(0, cache.size());
+        for (int i = 0; i < 10; i++) {
+            cache.TryTransform(Integer.toString(i), result);
+        }
+        assertEquals(15, cache.evictionCount());
+        assertEquals(25 + 10, cache.missCount());
+    }
+
+    @Test
+    public void cachedRejectionSkipsTheConverter()
+    {
+        CountingConvert convert = new CountingConvert();
+        CachingConverter<Integer> cache = new CachingConverter<>(convert, 4);
+        ConvertResult<Integer> result = new ConvertResult<>();
+
+        assertFalse(cache.TryTransform("nope", result));
+        Throwable cause = result.getCause();
+        for (int i = 0; i < 5; i++) {
+            result.reset();
+            assertFalse(cache.TryTransform("nope", result));
+            assertSame(cause, result.getCause());
+        }
+        try {
+            cache.Transform("nope");
+            fail("a cached rejection was accepted");
+        } catch (InvalidInputException e) {
+            if (cause instanceof InvalidInputException) {
+                assertSame(cause, e);
+            }
+        }
+        assertEquals(1, convert.callsFor("nope"));
+        assertEquals(6, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void sharedBetweenThreads() throws Exception
+    {
+        int threads = 8;
+        int rounds = 20_000;
+        int distinct = 3000;
+        int maxEntries = 1024;
+        CountingConvert convert = new CountingConvert();
+        CachingConverter<Integer> cache = new CachingConverter<>(convert, maxEntries);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                done.add(pool.submit(() -> {
+                    ConvertResult<Integer> result = new ConvertResult<>();
+                    go.await();
+                    for (int i = 0; i < rounds; i++) {
+                        // a skewed mix so some inputs stay hot, every 7th is invalid
+                        int n = (int) (((long) (i + seed) * (i + seed)) % distinct);
+                        String input = (n % 7 == 0)? "x" + n : Integer.toString(n);
+                        result.reset();
+                        boolean valid = cache.TryTransform(input, result);
+                        assertEquals(input, n % 7 != 0, valid);
+                        if (valid) {
+                            assertEquals(Integer.valueOf(n), result.getValue());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long calls = 0;
+        for (AtomicInteger count : convert.calls.values()) {
+            calls += count.get();
+        }
+        assertEquals((long) threads * rounds, cache.hitCount() + cache.missCount());
+        assertEquals(calls, cache.missCount());
+        assertTrue(cache.hitCount() > 0);
+        assertTrue(cache.size() <= maxEntries);
+        // two threads missing the same input both store it, so some misses neither add nor evict
+        assertTrue(cache.size() <= cache.missCount() - cache.evictionCount());
+    }
+}
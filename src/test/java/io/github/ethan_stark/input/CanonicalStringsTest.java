@@ -0,0 +1,86 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.quietInputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Checks canonical validators give shared String instances.
+ */
+public class CanonicalStringsTest
+{
+    @Test
+    public void validAnswersAreTheSetsInstances()
+    {
+        String yes = new String("yes");
+        String no = new String("no");
+        ResponseSet answers = ResponseSet.of(yes, no);
+        Validator<String> question = Validator.canonicalStrings(null).validResponses(answers).build();
+        JavaInp inp = quietInputOf("yes\nmaybe\nno\nyes\n");
+        InputMetrics metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+
+        assertSame(yes, question.validate(inp));
+        assertSame(no, question.validate(inp));
+        assertSame(yes, question.validate(inp));
+        assertEquals(3, metrics.getCanonicalAnswers());
+        assertEquals(3 * StringPool.estimatedSize(3), metrics.getCanonicalBytesSaved());
+        assertEquals(1, metrics.getValidListRejections());
+        // StringConvert never ran
+        assertNull(metrics.snapshot().getConversions().get(JavaInp.StringConvert.getClass().getName()));
+    }
+
+    @Test
+    public void ignoringCaseGivesTheSetsSpelling()
+    {
+        Validator<String> question = Validator.canonicalStrings(null)
+                                              .validResponses(ResponseSet.ignoringCase(Arrays.asList("Yes", "No"))).build();
+        assertEquals("Yes", question.validate(quietInputOf("yEs\n")));
+    }
+
+    @Test
+    public void openEndedAnswersArePooled()
+    {
+        StringPool pool = new StringPool(64, 16);
+        Validator<String> question = Validator.canonicalStrings(pool).invalidResponses(ResponseSet.of("skip")).build();
+        JavaInp inp = quietInputOf("paris\nskip\nparis\nlyon\nparis\n");
+        InputMetrics metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+
+        String first = question.validate(inp);
+        assertEquals("paris", first);
+        assertSame(first, question.validate(inp));
+        assertEquals("lyon", question.validate(inp));
+        assertSame(first, question.validate(inp));
+        assertEquals(2, pool.hitCount());
+        assertEquals(2, pool.missCount());
+        assertEquals(2, metrics.getCanonicalAnswers());
+    }
+
+    @Test
+    public void poolSkipsLongAnswers()
+    {
+        StringPool pool = new StringPool(8, 4);
+        assertEquals(8, pool.capacity());
+        String longAnswer = pool.canonical(new StringBuilder("toolong"));
+        assertNotSame(longAnswer, pool.canonical(new StringBuilder("toolong")));
+        String shortAnswer = pool.canonical("ok");
+        assertSame(shortAnswer, pool.canonical(new StringBuilder("ok")));
+        pool.clear();
+        assertNull(pool.find("ok"));
+    }
+
+    @Test
+    public void prefixSetsHaveNoInstanceToShare()
+    {
+        ResponseSet prefixes = ResponseSet.prefixes(Arrays.asList("ab"), false);
+        assertNull(prefixes.find("abc"));
+        assertEquals("ab", ResponseSet.of("ab").find(new StringBuilder("ab")));
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.bytesOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+/**
+ * Checks the non-throwing conversion contract and its exception adapter.
+ */
+public class ConvertResultTest
+{
+    @Test
+    public void builtInsRejectWithoutCause()
+    {
+        ConvertResult<Integer> result = new ConvertResult<>();
+        assertFalse(JavaInp.IntegerConvert.TryTransform("12x", result));
+        assertNull(result.getCause());
+        assertTrue(JavaInp.IntegerConvert.TryTransform("-2147483648", result));
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), result.getValue());
+        assertFalse(JavaInp.IntegerConvert.TryTransform("2147483648", result));
+    }
+
+    @Test
+    public void throwingConvertersAreAdapted()
+    {
+        ConvertToType<String> upper = new ConvertToType<String>() {
+            @Override
+            public String Transform(String UserInp) throws InvalidInputException
+            {
+                if (UserInp.isEmpty()) invalidateInputPreallocated();
+                return UserInp.toUpperCase();
+            }
+        };
+        ConvertResult<String> result = new ConvertResult<>();
+        assertTrue(upper.TryTransform("a", result));
+        assertEquals("A", result.getValue());
+        assertFalse(upper.TryTransform("", result));
+        assertSame(InvalidInputException.PREALLOCATED, result.getCause());
+        assertEquals(0, InvalidInputException.PREALLOCATED.getStackTrace().length);
+    }
+
+    @Test
+    public void hookSeesRejectedInputs()
+    {
+        List<String> rejected = new ArrayList<>();
+        JavaInp inp = new JavaInp(bytesOf("x\n4\n")) {
+            @Override
+            protected void onInvalidInput(InvalidInputException e)
+            {
+                rejected.add(e.getErroredInput());
+            }
+        };
+        assertEquals(4, inp.validateInt("", "", 0, -1));
+        assertEquals(List.of("x"), rejected);
+        inp.close();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.quietInputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.JavaInp.ConvertToType;
+
+/**
+ * Checks the converters built by {@link Converters}.
+ */
+public class ConvertersTest
+{
+    @Test
+    public void rangesRejectOutsideValues()
+    {
+        ConvertResult<Integer> result = new ConvertResult<>();
+        Converters.IntRange percent = Converters.intRange(0, 100);
+        assertTrue(percent.TryTransform("100", result));
+        assertFalse(percent.TryTransform("101", result));
+        assertFalse(percent.TryTransform("x", result));
+        assertEquals(42, quietInputOf("-1\n42\n").validateInt("? ", "", percent, ResponseSet.EMPTY, ResponseSet.EMPTY, 0, -1));
+        assertFalse(Converters.doubleRange(0, 1).TryTransform("NaN", new ConvertResult<>()));
+    }
+
+    @Test
+    public void lookupsMatchWholeInput()
+    {
+        ConvertToType<TimeUnit> unit = Converters.enumOf(TimeUnit.class, true);
+        ConvertResult<TimeUnit> result = new ConvertResult<>();
+        assertTrue(unit.TryTransform("seconds", result));
+        assertEquals(TimeUnit.SECONDS, result.getValue());
+        assertFalse(unit.TryTransform("second", result));
+
+        ConvertResult<Boolean> bool = new ConvertResult<>();
+        assertTrue(Converters.BooleanIgnoringCase.TryTransform("TRUE", bool));
+        assertEquals(Boolean.TRUE, bool.getValue());
+        assertFalse(Converters.BooleanIgnoringCase.TryTransform("yes", bool));
+    }
+
+    @Test
+    public void composesOnce()
+    {
+        ConvertToType<Integer> evenLength = Converters.filtered(
+            Converters.mapped(Converters.matching("[a-z]+"), String::length), n -> n % 2 == 0);
+        ConvertResult<Integer> result = new ConvertResult<>();
+        assertTrue(evenLength.TryTransform("abcd", result));
+        assertEquals(Integer.valueOf(4), result.getValue());
+        assertFalse(evenLength.TryTransform("abc", result));
+        assertFalse(evenLength.TryTransform("AB", result));
+    }
+}
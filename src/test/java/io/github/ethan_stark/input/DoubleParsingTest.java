@@ -0,0 +1,178 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Differential tests of the double parser against {@link Double#valueOf(String)}.
+ */
+public class DoubleParsingTest
+{
+    private static final String[] EDGES = {
+        "0", "-0", "0.0", "-0.0", "+0", "0e999999999", "-0e-999999999", "000000000000000000000000000000",
+        "1", "-1", "1.", ".5", "+.5", "-.5e1", "1.e5", "1E+5", "1e-5", "1f", "1.5F", "2d", "2.5D", "1e5d",
+        "4.9e-324", "5e-324", "4.9406564584124654e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+        "2.47032822920623272e-324", "2.2250738585072011e-308", "2.2250738585072012e-308", "2.2250738585072014e-308",
+        "2.225073858507201136057409796709131975934819546351645648e-308",
+        "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1.797693134862315807e308",
+        "9007199254740991", "9007199254740992", "9007199254740993", "9007199254740993.0000000000000001",
+        "9007199254740992.5", "18014398509481985", "1e22", "1e23", "8.98846567431158e307", "3.0517578125e-5",
+        "0.1", "0.2", "0.3", "0.1000000000000000055511151231257827021181583404541015625",
+        "0.1000000000000000055511151231257827021181583404541015624",
+        "0.1000000000000000055511151231257827021181583404541015626",
+        "1e-400", "1e400", "1e-99999999999", "1e99999999999", "-1e99999999999",
+        "123456789012345678901234567890", "1234567890123456789", "12345678901234567890", "18446744073709551615",
+        "99999999999999999999", "9999999999999999999e-19", ".000000000000000000000000000001e30",
+        "7.2057594037927933e16", "2.0000000000000004", "2.00000000000000011102230246251565404236316680908203125",
+        "  1.5  ", "\t-2\n", "NaN", "-NaN", "+Infinity", "-Infinity", "Infinity", "0x1p3", "-0x1.8p-2d", "0X.8P1",
+    };
+
+    private static final String[] INVALID = {
+        "", " ", ".", "-", "+", "e5", ".e5", "1e", "1e+", "1e-", "1.2.3", "1..2", "--1", "+-1", "1-", "1 2",
+        "abc", "3,5", "1ff", "1fd", "f", "d", "0x", "0x1", "0x1.8", "0xp1", "NaNd", "nan", "infinity", "Inf",
+        "1e5.5", "1_000", "\u0661", "1\u00a0", "0b1", "++1", "1e1e1", "Infinityf",
+    };
+
+    private static void check(String s)
+    {
+        Double expected;
+        try {
+            expected = Double.valueOf(s);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+        ConvertResult<?> result = new ConvertResult<>();
+        boolean accepted = NumberParsing.parseDouble(s, 0, s.length(), result);
+        if (expected == null) {
+            assertFalse("accepted " + s, accepted);
+            return;
+        }
+        assertTrue("rejected " + s, accepted);
+        assertEquals(s, Double.doubleToLongBits(expected), Double.doubleToLongBits(result.getDouble()));
+    }
+
+    @Test
+    public void edgeCasesMatchDoubleValueOf()
+    {
+        for (String s : EDGES) {
+            check(s);
+            check("-" + s.trim());
+        }
+    }
+
+    @Test
+    public void invalidInputIsRejectedWithoutException()
+    {
+        ConvertResult<?> result = new ConvertResult<>();
+        for (String s : INVALID) {
+            assertFalse(s, NumberParsing.parseDouble(s, 0, s.length(), result));
+            check(s);
+        }
+    }
+
+    @Test
+    public void transformChainsTheParseFailure()
+    {
+        for (String s : INVALID) {
+            try {
+                JavaInp.DoubleConvert.Transform(s);
+                fail(s + " was accepted");
+            } catch (JavaInp.InvalidInputException e) {
+                assertEquals(s, e.getErroredInput());
+                assertTrue(s, e.getCause() instanceof NumberFormatException);
+            }
+        }
+    }
+
+    @Test
+    public void randomDoublesRoundTrip()
+    {
+        Random random = new Random(18);
+        for (int n = 0; n < 50_000; n++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            check(Double.toString(d));
+            check(String.format(Locale.ROOT, "%." + random.nextInt(25) + "e", d));
+        }
+    }
+
+    @Test
+    public void exactDecimalExpansionsMatch()
+    {
+        Random random = new Random(180);
+        for (int n = 0; n < 3_000; n++) {
+            double d = Math.abs(Double.longBitsToDouble(random.nextLong()));
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+            check(new BigDecimal(d).toString());
+        }
+    }
+
+    @Test
+    public void halfwayPointsRoundToEven()
+    {
+        Random random = new Random(1800);
+        for (int n = 0; n < 5_000; n++) {
+            // mostly small exponents, where exact ties are possible with few digits
+            double d = (n % 2 == 0) ? Math.scalb((double) (random.nextLong() >>> 11), random.nextInt(140) - 90)
+                                    : Math.abs(Double.longBitsToDouble(random.nextLong()));
+            if (Double.isNaN(d) || Double.isInfinite(d) || d == Double.MAX_VALUE) {
+                continue;
+            }
+            BigDecimal halfway = new BigDecimal(d).add(new BigDecimal(Math.nextUp(d))).divide(BigDecimal.valueOf(2));
+            BigDecimal nudge = BigDecimal.ONE.movePointLeft(halfway.scale() + 3);
+            check(halfway.toString());
+            check(halfway.add(nudge).toString());
+            check(halfway.subtract(nudge).toString());
+            check(halfway.round(new MathContext(17)).toString());
+        }
+    }
+
+    @Test
+    public void randomDigitStringsMatch()
+    {
+        Random random = new Random(18000);
+        StringBuilder s = new StringBuilder();
+        for (int n = 0; n < 100_000; n++) {
+            s.setLength(0);
+            int digits = 1 + random.nextInt(25);
+            int point = random.nextInt(digits + 2) - 1;
+            for (int i = 0; i < digits; i++) {
+                if (i == point) s.append('.');
+                s.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                s.append('e').append(random.nextInt(700) - 350);
+            }
+            check(s.toString());
+        }
+    }
+
+    @Test
+    public void randomJunkAgreesOnSyntax()
+    {
+        Random random = new Random(180000);
+        String alphabet = "0123456789.eE+-fFdDxXpP NaIity";
+        StringBuilder s = new StringBuilder();
+        for (int n = 0; n < 100_000; n++) {
+            s.setLength(0);
+            int length = random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            check(s.toString());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * Checks the counters kept by {@link InputMetrics}.
+ */
+public class InputMetricsTest
+{
+    @Test
+    public void countsAttemptsAndRejections() throws Exception
+    {
+        JavaInp inp = inputOf("no\nx\nyes\n7\nz\n");
+        inp.setPromptsSuppressed(true);
+        InputMetrics metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+
+        inp.validateInput("", "", JavaInp.StringConvert, ResponseSet.EMPTY, ResponseSet.of("no", "x"), 0, null);
+        assertEquals(7, inp.validateInt("", "", 0, -1));
+        assertEquals(-1, inp.validateInt("", "", 1, -1));
+
+        InputMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(5, snapshot.getReads());
+        assertEquals(3, snapshot.getValidations());
+        assertEquals(5, snapshot.getAttempts());
+        assertEquals(2, snapshot.getInvalidListRejections());
+        assertEquals(0, snapshot.getValidListRejections());
+        assertEquals(1, snapshot.getConverterRejections());
+        assertEquals(1, snapshot.getDefaultFallbacks());
+        assertEquals(5, snapshot.getReadWait().getCount());
+        assertEquals(2, snapshot.getConversions().size());
+
+        ObjectName name = metrics.register(new ObjectName("io.github.ethan_stark.input:type=InputMetrics,name=test"));
+        try {
+            assertEquals(5L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Attempts"));
+            assertTrue(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ConversionMeanNanos") != null);
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+        inp.close();
+    }
+}
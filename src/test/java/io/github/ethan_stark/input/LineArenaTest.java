@@ -0,0 +1,137 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.PromptSink.FlushPolicy;
+
+/**
+ * Checks {@link LineArena} splits lines like {@link BufferedLineReader}, across batches and segment growth.
+ */
+public class LineArenaTest
+{
+    private static final String[] INPUTS = {
+        "", "\n", "a", "a\r\nbb\r\n", "a\rb\r", "\r\n\r\n", "héllo\nwörld", "12\n345\r\n6789\n",
+    };
+
+    private static LineArena arena(byte[] bytes, int segmentSize)
+    {
+        return new LineArena(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8, segmentSize);
+    }
+
+    private static List<String> readAll(LineSource source)
+    {
+        List<String> lines = new ArrayList<>();
+        while (source.hasNextLine()) {
+            lines.add(source.nextLineView().toString());
+        }
+        source.close();
+        return lines;
+    }
+
+    @Test
+    public void matchesBufferedReader()
+    {
+        for (String input : INPUTS) {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            List<String> expected = readAll(new BufferedLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+            for (int segment = 1; segment <= 9; segment++) {
+                assertEquals(input + " segment " + segment, expected, readAll(arena(bytes, segment)));
+            }
+        }
+    }
+
+    private static List<String> readBounded(LineSource source, int maxLength)
+    {
+        List<String> lines = new ArrayList<>();
+        while (source.hasNextLine()) {
+            CharSequence line = source.nextLineView(maxLength);
+            lines.add((line == null)? null : line.toString());
+        }
+        source.close();
+        return lines;
+    }
+
+    @Test
+    public void boundedReadsDropLongLinesLikeBufferedReader()
+    {
+        Random random = new Random(11);
+        char[] alphabet = {'a', 'b', '\n', '\r', 'é'};
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(80);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            for (int maxLength = 0; maxLength <= 4; maxLength++) {
+                List<String> expected = readBounded(
+                    new BufferedLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8), maxLength);
+                for (int segment = 1; segment <= 9; segment++) {
+                    LineArena arena = arena(bytes, segment);
+                    assertEquals(text + " segment " + segment + " max " + maxLength, expected, readBounded(arena, maxLength));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void matchesBufferedReaderOnRandomInput()
+    {
+        Random random = new Random(7);
+        char[] alphabet = {'a', '7', ' ', '\n', '\r', 'é'};
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            List<String> expected = readAll(new BufferedLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+            assertEquals(text.toString(), expected, readAll(arena(bytes, 1 + random.nextInt(16))));
+        }
+    }
+
+    @Test
+    public void reusesSegmentAcrossBatches()
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append(i).append('\n');
+        }
+        LineArena arena = arena(text.toString().getBytes(StandardCharsets.UTF_8), 64);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(arena.hasNextLine());
+            assertEquals(String.valueOf(i), arena.nextLine());
+        }
+        assertFalse(arena.hasNextLine());
+        assertTrue(arena.batchCount() > 1);
+        assertEquals(64, arena.segmentSize());
+        arena.close();
+        assertEquals(0, arena.segmentSize());
+    }
+
+    @Test
+    public void validatesFromViews()
+    {
+        LineArena arena = arena("no\n12\n2.5\ntrue\n".getBytes(StandardCharsets.UTF_8), 4);
+        try (JavaInp inp = new JavaInp(arena)) {
+            inp.setPromptsSuppressed(true);
+            inp.setOutput(PromptSink.of(new StringWriter(), FlushPolicy.WHEN_FULL));
+            assertEquals(12, inp.validateInt("", "", 0, -1));
+            assertEquals(2.5, inp.validateDouble("", "", 0, -1), 0);
+            assertTrue(inp.validateBoolean("", "", 0, false));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.bytesOf;
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link LineDispatcher} hands every line to exactly one worker.
+ */
+public class LineDispatcherTest
+{
+    @Test
+    public void everyLineHandledOnce() throws Exception
+    {
+        int lines = 100_000;
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            text.append((i % 10 == 0)? "x" : Integer.toString(i)).append('\n');
+        }
+        AtomicLongArray seen = new AtomicLongArray(lines + 1);
+        BatchValidation.Handler<Integer> handler = new BatchValidation.Handler<Integer>() {
+            @Override
+            public void accepted(long lineNumber, Integer value)
+            {
+                assertEquals(lineNumber, value.longValue());
+                seen.incrementAndGet((int) lineNumber);
+            }
+
+            @Override
+            public void rejected(long lineNumber, String line)
+            {
+                seen.incrementAndGet((int) lineNumber);
+            }
+        };
+
+        BufferedLineReader source = new BufferedLineReader(bytesOf(text.toString()));
+        try (LineDispatcher<Integer> dispatcher = LineDispatcher.start(source,
+                new BatchValidation<>(JavaInp.IntegerConvert), handler, 4, 64, 4, true)) {
+            BatchValidation.Totals totals = dispatcher.await();
+            assertEquals(lines / 10, totals.getRejected());
+            assertEquals(lines, totals.getLines());
+            assertTrue(dispatcher.isDone());
+        }
+        for (int i = 1; i <= lines; i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void handlerFailureStopsDispatch() throws Exception
+    {
+        JavaInp inp = inputOf("1\n2\n3\n");
+        try (LineDispatcher<Integer> dispatcher = inp.dispatch(new BatchValidation<>(JavaInp.IntegerConvert),
+                new BatchValidation.Handler<Integer>() {
+                    @Override
+                    public void accepted(long lineNumber, Integer value)
+                    {
+                        throw new IllegalArgumentException("boom");
+                    }
+
+                    @Override
+                    public void rejected(long lineNumber, String line) {}
+                }, 2)) {
+            dispatcher.await();
+        }
+    }
+
+    /** Counts the lines given out, and notes a close that races a read.  */
+    private static final class CountingSource implements LineSource
+    {
+        private final LineSource source;
+        final AtomicLong taken = new AtomicLong();
+        private volatile boolean reading;
+        volatile boolean closedWhileReading;
+
+        CountingSource(LineSource source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public String nextLine()
+        {
+            reading = true;
+            try {
+                String line = source.nextLine();
+                taken.incrementAndGet();
+                return line;
+            } finally {
+                reading = false;
+            }
+        }
+
+        @Override
+        public boolean hasNextLine()
+        {
+            reading = true;
+            try {
+                return source.hasNextLine();
+            } finally {
+                reading = false;
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            closedWhileReading |= reading;
+            source.close();
+        }
+    }
+
+    @Test
+    public void closeHandlesEveryLineAlreadyRead() throws Exception
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 200_000; i++) {
+            text.append(i).append('\n');
+        }
+        CountingSource source = new CountingSource(
+            new BufferedLineReader(bytesOf(text.toString())));
+        AtomicLong handled = new AtomicLong();
+        BatchValidation.Handler<Integer> handler = new BatchValidation.Handler<Integer>() {
+            @Override
+            public void accepted(long lineNumber, Integer value)
+            {
+                if (lineNumber % 1000 == 0) Thread.yield();
+                handled.incrementAndGet();
+            }
+
+            @Override
+            public void rejected(long lineNumber, String line)
+            {
+                handled.incrementAndGet();
+            }
+        };
+
+        LineDispatcher<Integer> dispatcher = LineDispatcher.start(source, new BatchValidation<>(JavaInp.IntegerConvert), handler,
+                                                                  2, 64, 2, true);
+        Thread.sleep(5);
+        dispatcher.close();
+        assertTrue(dispatcher.isDone());
+        assertEquals(source.taken.get(), handled.get());
+        assertFalse(source.closedWhileReading);
+    }
+}
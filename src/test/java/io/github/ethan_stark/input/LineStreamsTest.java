@@ -0,0 +1,74 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.LineStreams.RejectPolicy;
+
+/**
+ * Checks the lazy streams of {@link LineStreams} and {@link JavaInp}.
+ */
+public class LineStreamsTest
+{
+    @Test
+    public void streamsFromJavaInp()
+    {
+        assertEquals(List.of("a", "", "b"), inputOf("a\n\nb").lines().collect(Collectors.toList()));
+        assertEquals(6, inputOf("1\nx\n2\n3\n").ints(JavaInp.IntPrimitiveConvert, RejectPolicy.SKIP).sum());
+        assertEquals(List.of(1, 2), inputOf("1\n2\n").values(JavaInp.IntegerConvert, RejectPolicy.FAIL).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failPolicyStopsStream()
+    {
+        inputOf("1\nx\n").values(JavaInp.IntegerConvert, RejectPolicy.FAIL).count();
+    }
+
+    @Test
+    public void parallelFileMatchesSequential() throws Exception
+    {
+        Path file = Files.createTempFile("lines", ".txt");
+        try {
+            StringBuilder text = new StringBuilder();
+            String[] endings = {"\n", "\r\n", "\r"};
+            for (int i = 0; i < 200_000; i++) {
+                text.append((i % 7 == 0)? "bad" : Integer.toString(i)).append(endings[i % 3]);
+            }
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+            long expected;
+            try (JavaInp inp = new JavaInp(file)) {
+                expected = inp.lines().filter(line -> !line.equals("bad")).mapToLong(Long::parseLong).sum();
+            }
+            try (Stream<Integer> values = LineStreams.values(file, StandardCharsets.UTF_8, JavaInp.IntegerConvert, RejectPolicy.SKIP)) {
+                assertEquals(expected, values.parallel().mapToLong(Integer::longValue).sum());
+            }
+            try (Stream<String> lines = LineStreams.lines(file, StandardCharsets.UTF_8)) {
+                assertEquals(200_000, lines.parallel().count());
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Spliterator<String> whole = new FileLineSpliterator(channel, StandardCharsets.UTF_8);
+                long estimate = whole.estimateSize();
+                assertTrue(estimate > 150_000 && estimate < 250_000);
+                assertNotNull(whole.trySplit());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link MappedLineSource} splits lines like {@link BufferedLineReader}, across window boundaries.
+ */
+public class MappedLineSourceTest
+{
+    private static final String[] INPUTS = {
+        "", "\n", "a", "a\r\nbb\r\n", "a\rb\r", "\r\n\r\n", "héllo\nwörld", "12\n345\r\n6789\n",
+    };
+
+    private static List<String> readAll(LineSource source)
+    {
+        List<String> lines = new ArrayList<>();
+        while (source.hasNextLine()) {
+            lines.add(source.nextLineView().toString());
+        }
+        source.close();
+        return lines;
+    }
+
+    @Test
+    public void matchesBufferedReader() throws IOException
+    {
+        Path file = Files.createTempFile("mapped", ".txt");
+        try {
+            for (String input : INPUTS) {
+                byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+                Files.write(file, bytes);
+                List<String> expected = readAll(new BufferedLineReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+                for (int window = 1; window <= 9; window++) {
+                    assertEquals(input + " window " + window, expected,
+                        readAll(new MappedLineSource(file, StandardCharsets.UTF_8, window)));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void validatesFromFile() throws IOException
+    {
+        Path file = Files.createTempFile("mapped", ".txt");
+        try {
+            Files.write(file, "no\n12\n".getBytes(StandardCharsets.UTF_8));
+            try (JavaInp inp = new JavaInp(file)) {
+                assertEquals(12, inp.validateInt("", "", 0, -1));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.JavaInp.InvalidInputException;
+
+/**
+ * Checks the primitive converters accept the same inputs as the boxed ones.
+ */
+public class PrimitiveConvertTest
+{
+    private static final String[] DOUBLES = {
+        "0", "-0", "1.", ".5", "-12.25", "+3", "123456789012345", "1234567890123456789", "0.1", "1e10",
+        " 7 ", "NaN", "-Infinity", "0x1p3", "1d", ".", "", "-", "1.2.3", "abc", "3,5",
+    };
+
+    @Test
+    public void doublesMatchDoubleConvert()
+    {
+        for (String s : DOUBLES) {
+            Double expected;
+            try {
+                expected = JavaInp.DoubleConvert.Transform(s);
+            } catch (InvalidInputException e) {
+                expected = null;
+            }
+            // parse from the middle of a longer sequence to check regions
+            String padded = "[[" + s + "]]";
+            try {
+                double actual = JavaInp.DoublePrimitiveConvert.TransformDouble(padded, 2, 2 + s.length());
+                if (expected == null) fail("accepted " + s);
+                assertEquals(s, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+            } catch (InvalidInputException e) {
+                if (expected != null) fail("rejected " + s);
+            }
+        }
+    }
+
+    @Test
+    public void parsesRegions() throws InvalidInputException
+    {
+        assertEquals(-42, JavaInp.IntPrimitiveConvert.TransformInt("x-42x", 1, 4));
+        assertEquals(9000000000L, JavaInp.LongPrimitiveConvert.TransformLong("9000000000", 0, 10));
+        assertTrue(JavaInp.BooleanPrimitiveConvert.TransformBoolean("isTrue", 2, 6));
+        assertFalse(JavaInp.BooleanPrimitiveConvert.TransformBoolean("false", 0, 5));
+    }
+
+    @Test
+    public void validateIntUsesDefault()
+    {
+        JavaInp inp = inputOf("a\nb\n");
+        assertEquals(5, inp.validateInt("", "", 2, 5));
+        inp.close();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import io.github.ethan_stark.input.PromptSink.FlushPolicy;
+
+/**
+ * Checks the batching and flush policies of {@link PromptSink}.
+ */
+public class PromptSinkTest
+{
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void batchesUntilFlushed()
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JavaInp inp = inputOf("x\ny\n3\n");
+        inp.setOutput(PromptSink.of(bytes, StandardCharsets.UTF_8, FlushPolicy.WHEN_FULL));
+        assertEquals(3, inp.validateInt("n? ", "bad", 0, -1));
+        assertEquals(0, bytes.size());
+        inp.close();
+        assertEquals("n? bad" + NL + "n? bad" + NL + "n? ", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void flushesBeforeEachRead()
+    {
+        StringWriter out = new StringWriter();
+        JavaInp inp = inputOf("a\n");
+        inp.setOutput(PromptSink.of(out, FlushPolicy.BEFORE_READ));
+        inp.input("first> ");
+        assertEquals("first> ", out.toString());
+        inp.close();
+    }
+
+    @Test
+    public void skipsPromptsWhenSuppressed()
+    {
+        StringWriter out = new StringWriter();
+        JavaInp inp = inputOf("z\ntrue\n");
+        inp.setOutput(PromptSink.of(out, FlushPolicy.ALWAYS));
+        inp.setPromptsSuppressed(true);
+        assertEquals(true, inp.validateBoolean("bool? ", "no", 0, false));
+        assertEquals("no" + NL, out.toString());
+        inp.close();
+    }
+
+    @Test
+    public void terminalCheckLeavesOtherSourcesAlone()
+    {
+        JavaInp inp = inputOf("a\n");
+        assertFalse(inp.suppressPromptsWhenNotTerminal());
+        assertFalse(inp.isPromptsSuppressed());
+        inp.close();
+    }
+
+    @Test
+    public void systemInKeepsPromptsUntilAskedToCheck()
+    {
+        // the terminal check is opt-in, even when the tests' System.in is piped
+        assertFalse(new JavaInp().isPromptsSuppressed());
+    }
+
+    @Test
+    public void descriptorLinksToldApart() throws IOException
+    {
+        Path dir = Files.createTempDirectory("javainp-fd");
+        Path file = dir.resolve("piped");
+        Path toFile = dir.resolve("0");
+        Path toTerminal = dir.resolve("1");
+        try {
+            Files.createFile(file);
+            try {
+                Files.createSymbolicLink(toFile, file);
+                Files.createSymbolicLink(toTerminal, Paths.get("/dev/pts/0"));
+            } catch (IOException | UnsupportedOperationException e) {
+                Assume.assumeNoException(e);
+            }
+            assertFalse(JavaInp.isTerminal(toFile));
+            assertTrue(JavaInp.isTerminal(toTerminal));
+            // not a link, so it can't be told
+            assertTrue(JavaInp.isTerminal(file));
+            assertTrue(JavaInp.isTerminal(dir.resolve("missing")));
+        } finally {
+            Files.deleteIfExists(toTerminal);
+            Files.deleteIfExists(toFile);
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * Checks the one pass record parsing of {@link RecordSchema}.
+ */
+public class RecordSchemaTest
+{
+    private final RecordSchema schema = RecordSchema.of(',', RecordSchema.intField(), RecordSchema.field(JavaInp.IntegerConvert),
+        RecordSchema.field(JavaInp.DoubleConvert), RecordSchema.booleanField(), RecordSchema.field(JavaInp.StringConvert));
+
+    @Test
+    public void parsesEveryField()
+    {
+        RecordSchema.Row row = schema.newRow();
+        assertTrue(schema.parse("7,3,2.5,true,", row));
+        assertEquals(7, row.getInt(0));
+        assertEquals(3, row.getInt(1));
+        assertEquals(2.5, row.getDouble(2), 0);
+        assertTrue(row.getBoolean(3));
+        assertEquals("", row.get(4));
+        assertEquals(-1, row.getInvalidField());
+    }
+
+    @Test
+    public void reportsInvalidField()
+    {
+        RecordSchema.Row row = schema.newRow();
+        assertFalse(schema.parse("7,x,2.5,true,a", row));
+        assertEquals(1, row.getInvalidField());
+        assertFalse(schema.parse("7,3,2.5", row));
+        assertEquals(3, row.getInvalidField());
+        assertFalse(schema.parse("7,3,2.5,true,a,b", row));
+        assertEquals(5, row.getInvalidField());
+    }
+
+    @Test
+    public void retriesUntilValid()
+    {
+        JavaInp inp = inputOf("1,2\n1,2,3,false,b\n");
+        inp.setPromptsSuppressed(true);
+        inp.setOutput(PromptSink.of(new StringWriter(), PromptSink.FlushPolicy.WHEN_FULL));
+        RecordSchema.Row row = schema.newRow();
+        assertTrue(inp.validateRecord("", "", schema, row, 0));
+        assertEquals("b", row.get(4));
+        assertFalse(row.getBoolean(3));
+    }
+}
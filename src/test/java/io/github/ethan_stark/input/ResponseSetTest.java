@@ -0,0 +1,99 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link ResponseSet} matches like the list lookups it replaces.
+ */
+public class ResponseSetTest
+{
+    @Test
+    public void exactMatchesListContains()
+    {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            codes.add("code" + (i * 7));
+        }
+        ResponseSet set = ResponseSet.of(codes);
+        assertEquals(5000, set.size());
+        for (int i = 0; i < 40000; i++) {
+            String s = "code" + i;
+            assertEquals(s, codes.contains(s), set.contains(s));
+            assertEquals(s, codes.contains(s), set.contains(new StringBuilder(s)));
+        }
+        assertFalse(set.contains("Code0"));
+        assertTrue(ResponseSet.of((List<String>) null).isEmpty());
+    }
+
+    @Test
+    public void ignoresCase()
+    {
+        ResponseSet set = ResponseSet.ignoringCase(Arrays.asList("Yes", "no", "straße"));
+        assertTrue(set.contains("YES"));
+        assertTrue(set.contains("nO"));
+        assertTrue(set.contains("STRAßE"));
+        assertFalse(set.contains("maybe"));
+    }
+
+    @Test
+    public void matchesPrefixes()
+    {
+        ResponseSet set = ResponseSet.prefixes(Arrays.asList("ab", "abc", "x"), true);
+        assertEquals(3, set.size());
+        assertTrue(set.contains("ABzzz"));
+        assertTrue(set.contains("x"));
+        assertFalse(set.contains("a"));
+        assertFalse(set.contains(""));
+        assertTrue(ResponseSet.prefixes(Arrays.asList(""), false).contains("anything"));
+    }
+
+    /** Counts how often the list is copied to be compiled.  */
+    private static final class CountingList extends ArrayList<String>
+    {
+        private static final long serialVersionUID = 1L;
+        int copies;
+
+        @Override
+        public <A> A[] toArray(A[] a)
+        {
+            copies ++;
+            return super.toArray(a);
+        }
+    }
+
+    @Test
+    public void listsCompiledOnlyWhenCheckedAgain()
+    {
+        CountingList codes = new CountingList();
+        for (int i = 0; i < 100; i++) {
+            codes.add("code" + i);
+        }
+        ResponseSet set = ResponseSet.ofList(codes);
+        assertTrue(set.contains(new StringBuilder("code42")));
+        assertEquals(0, codes.copies);
+        for (int i = 0; i < 200; i++) {
+            String s = "code" + i;
+            assertEquals(s, codes.contains(s), set.contains(s));
+        }
+        assertEquals(1, codes.copies);
+        assertEquals("code7", set.find("code7"));
+
+        CountingList small = new CountingList();
+        small.addAll(Arrays.asList("yes", "no"));
+        ResponseSet smallSet = ResponseSet.ofList(small);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(smallSet.contains("no"));
+            assertFalse(smallSet.contains("maybe"));
+        }
+        assertEquals(0, small.copies);
+        assertTrue(ResponseSet.ofList(null).isEmpty());
+    }
+}
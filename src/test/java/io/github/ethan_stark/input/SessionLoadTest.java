@@ -0,0 +1,134 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * <p>Loopback load test for {@link SessionRunner}, one {@link JavaInp} session per connection. </p>
+ * <p>Scale it with {@code -Djavainp.loadtest.sessions=10000 -Djavainp.loadtest.answers=200}. </p>
+ */
+public class SessionLoadTest
+{
+    private static final int SESSIONS = Integer.getInteger("javainp.loadtest.sessions", 200);
+    private static final int ANSWERS = Integer.getInteger("javainp.loadtest.answers", 50);
+
+    @Test
+    public void sessionsOverLoopbackSockets() throws Exception
+    {
+        AtomicInteger peakSessions = new AtomicInteger();
+        List<CompletableFuture<Void>> sessions = new ArrayList<>();
+
+        try (SessionRunner runner = SessionRunner.virtualThreads();
+             ServerSocket server = new ServerSocket(0, SESSIONS, InetAddress.getLoopbackAddress())) {
+
+            Thread acceptor = new Thread(() -> {
+                for (int i = 0; i < SESSIONS; i++) {
+                    try {
+                        Socket socket = server.accept();
+                        synchronized (sessions) {
+                            sessions.add(runner.start(socket, StandardCharsets.UTF_8, inp -> {
+                                peakSessions.accumulateAndGet(runner.activeSessions(), Math::max);
+                                long sum = 0;
+                                for (int answer = 0; answer < ANSWERS; answer++) {
+                                    sum += inp.validateInt("n? ", "bad", 0, 0);
+                                }
+                                inp.getOutput().println("sum=" + sum);
+                            }));
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            acceptor.start();
+
+            ExecutorService clients = Executors.newFixedThreadPool(Math.min(SESSIONS, 256));
+            List<Future<String>> replies = new ArrayList<>();
+            for (int i = 0; i < SESSIONS; i++) {
+                replies.add(clients.submit(() -> runClient(server.getLocalPort())));
+            }
+            long expectedSum = (long) ANSWERS * (ANSWERS - 1) / 2;
+            for (Future<String> reply : replies) {
+                // every invalid line was answered with the error message
+                assertEquals("sum=" + expectedSum + " errors=" + ANSWERS, reply.get());
+            }
+            acceptor.join();
+            synchronized (sessions) {
+                CompletableFuture.allOf(sessions.toArray(new CompletableFuture<?>[0])).join();
+            }
+            clients.shutdown();
+
+            assertTrue("peak " + peakSessions.get(), peakSessions.get() >= 1 && peakSessions.get() <= SESSIONS);
+            assertEquals(0, runner.activeSessions());
+        }
+    }
+
+    @Test
+    public void closedRunnerClosesTheSocket() throws Exception
+    {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+             Socket accepted = server.accept()) {
+            client.setSoTimeout(5000);
+            SessionRunner runner = SessionRunner.virtualThreads();
+            runner.close();
+            try {
+                runner.start(accepted, StandardCharsets.UTF_8, inp -> {});
+                fail("a closed runner took a session");
+            } catch (RejectedExecutionException e) {
+                assertTrue(accepted.isClosed());
+                assertEquals(0, runner.activeSessions());
+                // the client sees the connection end instead of waiting on it
+                assertEquals(-1, client.getInputStream().read());
+            }
+        }
+    }
+
+    /**
+     * Sends one invalid line before every answer, then sums up what the server wrote.
+     * @return the servers last line and the number of error messages it wrote
+     */
+    private static String runClient(int port) throws IOException
+    {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            StringBuilder lines = new StringBuilder();
+            for (int answer = 0; answer < ANSWERS; answer++) {
+                lines.append("oops\n").append(answer).append('\n');
+            }
+            OutputStream out = socket.getOutputStream();
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            socket.shutdownOutput();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String last = null;
+            int errors = 0;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.endsWith("bad")) errors ++;
+                int sum = line.indexOf("sum=");
+                last = (sum >= 0)? line.substring(sum) : line;
+            }
+            return last + " errors=" + errors;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * Records a session with {@link SessionRecorder} and plays it back with {@link SessionReplay}.
+ */
+public class SessionReplayTest
+{
+    private static int program(JavaInp inp, int max)
+    {
+        inp.setPromptsSuppressed(true);
+        String name = inp.input("name? ");
+        int total = name.length();
+        for (int i = 0; i < 3; i++) {
+            total += inp.validateInt("n? ", "bad", Converters.intRange(0, max), ResponseSet.EMPTY, ResponseSet.EMPTY, 0, -1);
+        }
+        return total;
+    }
+
+    private static byte[] record(String lines) throws Exception 
+    {
+        ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        try (SessionRecorder recorder = new SessionRecorder(journal)) {
+            JavaInp inp = inputOf(lines);
+            inp.setListener(recorder);
+            assertEquals(3 + 1 + 2 + 50, program(inp, 100));
+        }
+        return journal.toByteArray();
+    }
+
+    @Test
+    public void replayMatchesRecording() throws Exception
+    {
+        SessionReplay replay = SessionReplay.load(new ByteArrayInputStream(record("bob\nx\n1\n2\n50\n")));
+        JavaInp inp = new JavaInp(new BufferedLineReader(replay.input()));
+        inp.setListener(replay);
+        assertEquals(56, program(inp, 100));
+
+        SessionReplay.Report report = replay.report();
+        assertTrue(report.toString(), report.matches());
+        assertEquals(5, report.getLines());
+        assertEquals(5, report.getPrompts());
+        assertEquals(4, report.getOutcomes());
+        assertEquals(2, report.getPromptLatencies().size());
+        assertEquals(4, report.getPromptLatencies().get("n? ").getCount());
+    }
+
+    @Test
+    public void flagsDifferentOutcomes() throws Exception
+    {
+        SessionReplay replay = SessionReplay.load(new ByteArrayInputStream(record("bob\nx\n1\n2\n50\n")));
+        JavaInp inp = new JavaInp(replay.input());
+        inp.setListener(replay);
+        try {
+            program(inp, 10);
+        } catch (NoSuchElementException e) {
+            // 50 is now rejected, so the program runs out of lines
+        }
+
+        SessionReplay.Report report = replay.report();
+        assertFalse(report.matches());
+        SessionReplay.Divergence first = report.getDivergences().get(0);
+        assertEquals("accepted", first.getExpected());
+        assertEquals("rejected", first.getActual());
+    }
+}
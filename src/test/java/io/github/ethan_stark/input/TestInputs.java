@@ -0,0 +1,58 @@
+package io.github.ethan_stark.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import io.github.ethan_stark.input.PromptSink.FlushPolicy;
+
+/**
+ * Builds {@link JavaInp} instances reading fixed text, for the tests.
+ */
+final class TestInputs
+{
+    private TestInputs()
+    {
+    }
+
+    /**
+     * @param text the input, as UTF-8 bytes
+     * @return a stream of the text
+     */
+    static ByteArrayInputStream bytesOf(String text)
+    {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param text the input
+     * @return a JavaInp reading the text, prompting to {@code System.out} like {@link JavaInp#JavaInp(java.io.InputStream)}
+     */
+    static JavaInp inputOf(String text)
+    {
+        return new JavaInp(bytesOf(text));
+    }
+
+    /**
+     * @param text the input
+     * @return a JavaInp reading the text with prompts suppressed and its messages dropped
+     */
+    static JavaInp quietInputOf(String text)
+    {
+        return quietInputOf(text, new StringWriter());
+    }
+
+    /**
+     * @param text the input
+     * @param out gets the messages, flushed as they are written
+     * @return a JavaInp reading the text with prompts suppressed
+     */
+    static JavaInp quietInputOf(String text, Writer out)
+    {
+        JavaInp inp = new JavaInp(new BufferedLineReader(bytesOf(text)));
+        inp.setPromptsSuppressed(true);
+        inp.setOutput(PromptSink.of(out, FlushPolicy.ALWAYS));
+        return inp;
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.ethan_stark.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the timed reads over a pipe that only has what the test writes into it.
+ */
+public class TimedInputTest
+{
+    private PipedOutputStream pipe;
+    private JavaInp inp;
+    private InputMetrics metrics;
+
+    @Before
+    public void openPipe() throws IOException
+    {
+        pipe = new PipedOutputStream();
+        inp = new JavaInp(new BufferedLineReader(new PipedInputStream(pipe)));
+        inp.setPromptsSuppressed(true);
+        metrics = new InputMetrics();
+        inp.setMetrics(metrics);
+    }
+
+    @After
+    public void closePipe() throws IOException
+    {
+        pipe.close();
+        inp.close();
+    }
+
+    private void write(String text) throws IOException
+    {
+        pipe.write(text.getBytes(StandardCharsets.UTF_8));
+        pipe.flush();
+    }
+
+    @Test
+    public void lateLineIsKeptForTheNextRead() throws IOException
+    {
+        assertEquals("none", inp.input("", Duration.ofMillis(30), "none"));
+        write("hello\n");
+        assertEquals("hello", inp.getNextLine());
+        assertEquals(1, metrics.getTimeouts());
+    }
+
+    @Test
+    public void halfWrittenLineIsNotSplit() throws IOException
+    {
+        write("12");
+        assertNull(inp.getNextLine(Duration.ofMillis(30)));
+        write("3\n");
+        assertEquals("123", inp.getNextLine(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void attemptsTimeOutUntilAskLimit()
+    {
+        long started = System.nanoTime();
+        int answer = inp.validateInput("", "", JavaInp.IntegerConvert, 3, -1, Duration.ofMillis(20), null);
+        assertEquals(-1, answer);
+        assertEquals(3, metrics.getTimeouts());
+        assertEquals(1, metrics.getDefaultFallbacks());
+        assertTrue(System.nanoTime() - started >= Duration.ofMillis(60).toNanos());
+    }
+
+    @Test
+    public void deadlineEndsUnlimitedAsking() throws IOException
+    {
+        write("x\n");
+        long started = System.nanoTime();
+        int answer = inp.validateInput("", "", JavaInp.IntegerConvert, 0, -1, Duration.ofMillis(10), Duration.ofMillis(100));
+        long elapsed = System.nanoTime() - started;
+        assertEquals(-1, answer);
+        assertEquals(1, metrics.getConverterRejections());
+        assertTrue(elapsed >= Duration.ofMillis(100).toNanos());
+        assertTrue(elapsed < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void answerWithinDeadlineIsValidated() throws Exception
+    {
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                write("no\n7\n");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+        int answer = inp.validateInput("", "", JavaInp.IntegerConvert, ResponseSet.EMPTY, ResponseSet.of("no"), 0, -1,
+                                       Duration.ofMillis(20), Duration.ofSeconds(10));
+        writer.join();
+        assertEquals(7, answer);
+        assertTrue(metrics.getTimeouts() >= 1);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void endOfInputStillEnds() throws IOException
+    {
+        write("last\n");
+        pipe.close();
+        assertEquals("last", inp.getNextLine(Duration.ofSeconds(5)));
+        inp.getNextLine(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void untimedReadsGoStraightToTheSourceOnceIdle() throws Exception
+    {
+        PipedOutputStream own = new PipedOutputStream();
+        TimedLineSource timed = new TimedLineSource(new BufferedLineReader(new PipedInputStream(own)));
+        try (JavaInp direct = new JavaInp(timed)) {
+            direct.setPromptsSuppressed(true);
+            assertNull(direct.getNextLine(Duration.ofMillis(20)));
+            assertTrue(timed.readerReading());
+            own.write("late\nnext\n".getBytes(StandardCharsets.UTF_8));
+            own.flush();
+            // the late line is still handed over by the reader, which then waits for the next timed read
+            assertEquals("late", direct.getNextLineView().toString());
+            assertFalse(timed.readerReading());
+            CharSequence view = direct.getNextLineView();
+            assertFalse(view instanceof String);
+            assertEquals("next", view.toString());
+            assertFalse(timed.readerReading());
+            own.close();
+        }
+        // closing ends the idle reader
+        for (long until = System.nanoTime() + Duration.ofSeconds(5).toNanos(); timed.readerRunning() && System.nanoTime() < until; ) {
+            Thread.sleep(1);
+        }
+        assertFalse(timed.readerRunning());
+    }
+
+    @Test
+    public void oneReaderServesEveryTimedRead() throws Exception
+    {
+        PipedOutputStream own = new PipedOutputStream();
+        TimedLineSource timed = new TimedLineSource(new BufferedLineReader(new PipedInputStream(own)));
+        try (JavaInp reused = new JavaInp(timed)) {
+            reused.setPromptsSuppressed(true);
+            for (int i = 0; i < 20; i++) {
+                assertNull(reused.getNextLine(Duration.ofMillis(1)));
+                own.write((i + "\n").getBytes(StandardCharsets.UTF_8));
+                own.flush();
+                assertEquals(Integer.toString(i), reused.getNextLine(Duration.ofSeconds(5)));
+            }
+            assertEquals(1, timed.readersStarted());
+            assertTrue(timed.readerRunning());
+            own.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.ethan_stark.input;
+
+import static io.github.ethan_stark.input.TestInputs.inputOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import io.github.ethan_stark.input.PromptSink.FlushPolicy;
+
+/**
+ * Checks compiled {@link Validator}s behave like the validateInput overloads.
+ */
+public class ValidatorTest
+{
+    @Test
+    public void asksUntilValid()
+    {
+        Validator<Integer> age = Validator.builder(JavaInp.IntegerConvert)
+                                          .message("Age? ").errorMessage("Not an age")
+                                          .invalidResponses(Arrays.asList("0")).build();
+        JavaInp inp = inputOf("x\n0\n42\n");
+        StringWriter out = new StringWriter();
+        inp.setOutput(PromptSink.of(out, FlushPolicy.ALWAYS));
+        assertEquals(Integer.valueOf(42), age.validate(inp));
+        String nl = System.lineSeparator();
+        assertEquals("Age? Not an age" + nl + "Age? Not an age" + nl + "Age? ", out.toString());
+    }
+
+    @Test
+    public void givesDefaultAfterAskLimit()
+    {
+        Validator<String> colour = Validator.builder(JavaInp.StringConvert)
+                                            .validResponses(ResponseSet.of("red", "blue")).askLimit(2).defaultValue("none").build();
+        JavaInp inp = inputOf("green\npink\nred\n");
+        inp.setPromptsSuppressed(true);
+        inp.setOutput(PromptSink.of(new StringWriter(), FlushPolicy.WHEN_FULL));
+        assertEquals("none", inp.validateInput(colour));
+        assertEquals("red", colour.validate(inp));
+    }
+
+    @Test
+    public void builderChangesDontAffectBuiltValidators()
+    {
+        Validator.Builder<Integer> builder = Validator.builder(JavaInp.IntegerConvert).askLimit(1).defaultValue(-1);
+        Validator<Integer> first = builder.build();
+        Validator<Integer> second = builder.askLimit(3).defaultValue(-2).message("?").build();
+        assertEquals(1, first.getAskLimit());
+        assertEquals(Integer.valueOf(-1), first.getDefaultValue());
+        assertEquals("", first.getMessage());
+        assertEquals(JavaInp.StandardErrorMsg, first.getErrorMessage());
+        assertEquals(3, second.getAskLimit());
+        assertEquals(Integer.valueOf(-2), second.getDefaultValue());
+    }
+
+    @Test
+    public void nullMessagesBehaveLikeTheOverloads()
+    {
+        Validator<Integer> quiet = Validator.builder(JavaInp.IntegerConvert).message(null).errorMessage(null).askLimit(1).build();
+        JavaInp inp = inputOf("x\n");
+        StringWriter out = new StringWriter();
+        inp.setOutput(PromptSink.of(out, FlushPolicy.ALWAYS));
+        assertNull(quiet.validate(inp));
+        assertEquals(System.lineSeparator(), out.toString());
+    }
+
+    @Test
+    public void oneValidatorIsSharedBetweenThreads() throws Exception
+    {
+        Validator<Double> price = Validator.builder(JavaInp.DoubleConvert).askLimit(0).build();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] runs = new Future<?>[8];
+            for (int t = 0; t < runs.length; t++) {
+                int offset = t;
+                runs[t] = pool.submit(() -> {
+                    StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < 1000; i++) {
+                        text.append("bad\n").append(i + offset).append(".5\n");
+                    }
+                    JavaInp inp = inputOf(text.toString());
+                    inp.setPromptsSuppressed(true);
+                    inp.setOutput(PromptSink.of(new StringWriter(), FlushPolicy.WHEN_FULL));
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i + offset + 0.5, price.validate(inp), 0);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}